@@ -0,0 +1,123 @@
+package com.jforex.programming.order.event.benchmark;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dukascopy.api.IMessage;
+import com.dukascopy.api.IOrder;
+import com.dukascopy.api.Instrument;
+import com.jforex.programming.order.call.OrderCallReason;
+import com.jforex.programming.order.call.OrderCallRequest;
+import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.event.OrderEventFactory;
+
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+
+/**
+ * Call requests and order messages through the former queue based
+ * {@link QueueOrderEventFactory} and the current ring based
+ * OrderEventFactory, for many tracked orders. Both factories get the same
+ * requests and messages, so only the call reason bookkeeping differs.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class CallReasonTrackingBenchmark {
+
+    @Param({ "1000", "100000" })
+    public int noOfOrders;
+
+    private final Subject<OrderCallRequest> queueRequestPublisher = PublishSubject.create();
+    private final Subject<OrderCallRequest> ringRequestPublisher = PublishSubject.create();
+    private QueueOrderEventFactory queueFactory;
+    private OrderEventFactory ringFactory;
+
+    private OrderCallRequest[] changeSLRequests;
+    private IMessage[] rejectMessages;
+    private IMessage[] changedMessages;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        queueFactory = new QueueOrderEventFactory(queueRequestPublisher);
+        ringFactory = new OrderEventFactory(ringRequestPublisher);
+
+        changeSLRequests = new OrderCallRequest[noOfOrders];
+        rejectMessages = new IMessage[noOfOrders];
+        changedMessages = new IMessage[noOfOrders];
+        for (int i = 0; i < noOfOrders; ++i) {
+            final IOrder order = ReplayOrder.create("order" + i,
+                                                    Instrument.EURUSD,
+                                                    IOrder.State.FILLED,
+                                                    0.1);
+            final OrderCallRequest submitRequest = new OrderCallRequest(order, OrderCallReason.SUBMIT);
+            queueRequestPublisher.onNext(submitRequest);
+            ringRequestPublisher.onNext(submitRequest);
+
+            changeSLRequests[i] = new OrderCallRequest(order, OrderCallReason.CHANGE_SL);
+            rejectMessages[i] = new ReplayMessage(order,
+                                                  IMessage.Type.ORDER_CHANGED_REJECTED,
+                                                  Collections.emptySet());
+            changedMessages[i] = new ReplayMessage(order,
+                                                   IMessage.Type.ORDER_CHANGED_OK,
+                                                   EnumSet.of(IMessage.Reason.ORDER_CHANGED_SL));
+        }
+        pollSubmitReasons();
+    }
+
+    private void pollSubmitReasons() {
+        for (int i = 0; i < noOfOrders; ++i) {
+            queueFactory.fromMessage(changedMessages[i]);
+            ringFactory.fromMessage(changedMessages[i]);
+        }
+    }
+
+    private int nextIndex() {
+        final int current = index;
+        index = current + 1 == noOfOrders
+                ? 0
+                : current + 1;
+        return current;
+    }
+
+    @Benchmark
+    public OrderEvent queueWithCallReason() {
+        final int current = nextIndex();
+        queueRequestPublisher.onNext(changeSLRequests[current]);
+        return queueFactory.fromMessage(rejectMessages[current]);
+    }
+
+    @Benchmark
+    public OrderEvent ringWithCallReason() {
+        final int current = nextIndex();
+        ringRequestPublisher.onNext(changeSLRequests[current]);
+        return ringFactory.fromMessage(rejectMessages[current]);
+    }
+
+    @Benchmark
+    public OrderEvent queueWithoutCallReason() {
+        return queueFactory.fromMessage(changedMessages[nextIndex()]);
+    }
+
+    @Benchmark
+    public OrderEvent ringWithoutCallReason() {
+        return ringFactory.fromMessage(changedMessages[nextIndex()]);
+    }
+}
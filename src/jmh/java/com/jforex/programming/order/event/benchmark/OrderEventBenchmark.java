@@ -0,0 +1,156 @@
+package com.jforex.programming.order.event.benchmark;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dukascopy.api.IMessage;
+import com.dukascopy.api.IOrder;
+import com.dukascopy.api.Instrument;
+import com.jforex.programming.order.call.OrderCallReason;
+import com.jforex.programming.order.call.OrderCallRequest;
+import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.event.OrderEventFactory;
+import com.jforex.programming.order.event.OrderEventGateway;
+
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+
+/**
+ * Order messages through OrderEventGateway, OrderEventFactory and
+ * OrderEventTypeMapper. The given number of orders is registered as in
+ * flight before measuring. Run with the gc profiler to get the allocation
+ * rate. Orders and messages are the plain {@link ReplayOrder} and
+ * {@link ReplayMessage}, so no mocking framework is measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class OrderEventBenchmark {
+
+    @Param({ "1", "64", "1024" })
+    public int inFlightOrders;
+
+    private final Subject<IMessage> messagePublisher = PublishSubject.create();
+    private final Subject<OrderCallRequest> callRequestPublisher = PublishSubject.create();
+    private OrderEventFactory orderEventFactory;
+    private OrderEvent lastOrderEvent;
+
+    private OrderCallRequest[] changeSLRequests;
+    private IMessage[] internalRejectMessages;
+    private IMessage[] internalChangedMessages;
+    private IMessage[] multiReasonMessages;
+    private IMessage[] externalMessages;
+
+    @State(Scope.Thread)
+    public static class MessageIndex {
+
+        private int index;
+
+        private int next(final int noOfMessages) {
+            final int current = index;
+            index = current + 1 == noOfMessages
+                    ? 0
+                    : current + 1;
+            return current;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        orderEventFactory = new OrderEventFactory(callRequestPublisher);
+        new OrderEventGateway(messagePublisher, orderEventFactory)
+            .observable()
+            .subscribe(orderEvent -> lastOrderEvent = orderEvent);
+
+        changeSLRequests = new OrderCallRequest[inFlightOrders];
+        internalRejectMessages = new IMessage[inFlightOrders];
+        internalChangedMessages = new IMessage[inFlightOrders];
+        multiReasonMessages = new IMessage[inFlightOrders];
+        externalMessages = new IMessage[inFlightOrders];
+        for (int i = 0; i < inFlightOrders; ++i) {
+            final IOrder internalOrder = order("internal" + i);
+            final IOrder externalOrder = order("external" + i);
+            callRequestPublisher.onNext(new OrderCallRequest(internalOrder, OrderCallReason.SUBMIT));
+
+            changeSLRequests[i] = new OrderCallRequest(internalOrder, OrderCallReason.CHANGE_SL);
+            internalRejectMessages[i] = message(internalOrder,
+                                                IMessage.Type.ORDER_CHANGED_REJECTED,
+                                                Collections.emptySet());
+            internalChangedMessages[i] = message(internalOrder,
+                                                 IMessage.Type.ORDER_CHANGED_OK,
+                                                 EnumSet.of(IMessage.Reason.ORDER_CHANGED_SL));
+            multiReasonMessages[i] = message(internalOrder,
+                                             IMessage.Type.ORDER_CHANGED_OK,
+                                             EnumSet.of(IMessage.Reason.ORDER_CHANGED_SL,
+                                                        IMessage.Reason.ORDER_CHANGED_TP));
+            externalMessages[i] = message(externalOrder,
+                                          IMessage.Type.ORDER_CHANGED_OK,
+                                          EnumSet.of(IMessage.Reason.ORDER_CHANGED_SL));
+        }
+    }
+
+    private IOrder order(final String label) {
+        return ReplayOrder.create(label,
+                                  Instrument.EURUSD,
+                                  IOrder.State.FILLED,
+                                  0.1);
+    }
+
+    private IMessage message(final IOrder order,
+                             final IMessage.Type type,
+                             final Set<IMessage.Reason> reasons) {
+        return new ReplayMessage(order,
+                                 type,
+                                 reasons);
+    }
+
+    @Benchmark
+    public OrderEvent externalOrder(final MessageIndex messageIndex) {
+        messagePublisher.onNext(externalMessages[messageIndex.next(inFlightOrders)]);
+        return lastOrderEvent;
+    }
+
+    @Benchmark
+    public OrderEvent internalOrder(final MessageIndex messageIndex) {
+        messagePublisher.onNext(internalChangedMessages[messageIndex.next(inFlightOrders)]);
+        return lastOrderEvent;
+    }
+
+    @Benchmark
+    public OrderEvent internalOrderWithCallReason(final MessageIndex messageIndex) {
+        final int index = messageIndex.next(inFlightOrders);
+        callRequestPublisher.onNext(changeSLRequests[index]);
+        messagePublisher.onNext(internalRejectMessages[index]);
+        return lastOrderEvent;
+    }
+
+    @Benchmark
+    public OrderEvent multiReasonMessage(final MessageIndex messageIndex) {
+        messagePublisher.onNext(multiReasonMessages[messageIndex.next(inFlightOrders)]);
+        return lastOrderEvent;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public OrderEvent concurrentFactory(final MessageIndex messageIndex) {
+        return orderEventFactory.fromMessage(internalChangedMessages[messageIndex.next(inFlightOrders)]);
+    }
+}
@@ -0,0 +1,63 @@
+package com.jforex.programming.order.event.benchmark;
+
+import java.util.Set;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import com.dukascopy.api.IMessage;
+import com.dukascopy.api.IOrder;
+
+/**
+ * Plain order message for the benchmarks, so no mocking framework sits on
+ * the measured path.
+ */
+public final class ReplayMessage implements IMessage {
+
+    private final IOrder order;
+    private final Type type;
+    private final Set<Reason> reasons;
+
+    public ReplayMessage(final IOrder order,
+                         final Type type,
+                         final Set<Reason> reasons) {
+        this.order = order;
+        this.type = type;
+        this.reasons = reasons;
+    }
+
+    @Override
+    public Type getType() {
+        return type;
+    }
+
+    @Override
+    public Set<Reason> getReasons() {
+        return reasons;
+    }
+
+    @Override
+    public String getContent() {
+        return "";
+    }
+
+    @Override
+    public IOrder getOrder() {
+        return order;
+    }
+
+    @Override
+    public long getCreationTime() {
+        return 0L;
+    }
+
+    @Override
+    public String toString() {
+        final ToStringBuilder toStringBuilder = new ToStringBuilder(this, ToStringStyle.DEFAULT_STYLE);
+        toStringBuilder.append("type", type);
+        toStringBuilder.append("reasons", reasons);
+        toStringBuilder.append("order", order);
+
+        return toStringBuilder.toString();
+    }
+}
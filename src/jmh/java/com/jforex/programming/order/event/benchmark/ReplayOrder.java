@@ -0,0 +1,75 @@
+package com.jforex.programming.order.event.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import com.dukascopy.api.IOrder;
+import com.dukascopy.api.Instrument;
+
+/**
+ * Plain order for the benchmarks, answering only the getters the event
+ * path reads.
+ *
+ * IOrder has too many methods for a hand written implementation, so the
+ * order is a JDK proxy over this handler. The handler returns prepared
+ * values, including the boxed amount, so unlike a mock it neither records
+ * invocations nor allocates.
+ */
+public final class ReplayOrder implements InvocationHandler {
+
+    private final String label;
+    private final Instrument instrument;
+    private final IOrder.State state;
+    private final Double amount;
+    private Integer hashCode;
+
+    private ReplayOrder(final String label,
+                        final Instrument instrument,
+                        final IOrder.State state,
+                        final double amount) {
+        this.label = label;
+        this.instrument = instrument;
+        this.state = state;
+        this.amount = amount;
+    }
+
+    public static IOrder create(final String label,
+                                final Instrument instrument,
+                                final IOrder.State state,
+                                final double amount) {
+        return (IOrder) Proxy.newProxyInstance(IOrder.class.getClassLoader(),
+                                               new Class<?>[] { IOrder.class },
+                                               new ReplayOrder(label,
+                                                               instrument,
+                                                               state,
+                                                               amount));
+    }
+
+    @Override
+    public Object invoke(final Object proxy,
+                         final Method method,
+                         final Object[] args) {
+        switch (method.getName()) {
+        case "getLabel":
+            return label;
+        case "getInstrument":
+            return instrument;
+        case "getState":
+            return state;
+        case "getAmount":
+        case "getRequestedAmount":
+            return amount;
+        case "equals":
+            return proxy == args[0];
+        case "hashCode":
+            if (hashCode == null)
+                hashCode = System.identityHashCode(proxy);
+            return hashCode;
+        case "toString":
+            return "ReplayOrder[" + label + "]";
+        default:
+            throw new UnsupportedOperationException("ReplayOrder does not answer " + method.getName());
+        }
+    }
+}
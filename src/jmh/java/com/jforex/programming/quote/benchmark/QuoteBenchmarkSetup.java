@@ -0,0 +1,47 @@
+package com.jforex.programming.quote.benchmark;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import com.dukascopy.api.IContext;
+import com.dukascopy.api.IDataService;
+import com.dukascopy.api.IHistory;
+import com.dukascopy.api.ITick;
+import com.jforex.programming.quote.ReplayTick;
+import com.jforex.programming.strategy.ContextUtil;
+import com.jforex.programming.strategy.QuoteUtil;
+
+final class QuoteBenchmarkSetup {
+
+    static final int noOfTicks = 1024;
+    static final int tickIndexMask = noOfTicks - 1;
+
+    private QuoteBenchmarkSetup() {
+    }
+
+    static QuoteUtil quoteUtil() {
+        final IContext contextMock = mock(IContext.class);
+        when(contextMock.getHistory()).thenReturn(mock(IHistory.class));
+        when(contextMock.getDataService()).thenReturn(mock(IDataService.class));
+        when(contextMock.getSubscribedInstruments()).thenReturn(Collections.emptySet());
+
+        return new QuoteUtil(new ContextUtil(contextMock),
+                             false,
+                             false);
+    }
+
+    static ITick[] ticks() {
+        final ITick[] ticks = new ITick[noOfTicks];
+        for (int i = 0; i < noOfTicks; ++i) {
+            final double bid = 1.1 + i * 0.00001;
+            ticks[i] = new ReplayTick(1483315200000L + i,
+                                      bid,
+                                      bid + 0.0002,
+                                      1.0,
+                                      1.0);
+        }
+        return ticks;
+    }
+}
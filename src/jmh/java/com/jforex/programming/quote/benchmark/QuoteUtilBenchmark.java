@@ -0,0 +1,71 @@
+package com.jforex.programming.quote.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dukascopy.api.ITick;
+import com.dukascopy.api.Instrument;
+import com.jforex.programming.quote.TickQuote;
+import com.jforex.programming.strategy.QuoteUtil;
+
+/**
+ * Ticks per second through QuoteUtil.onTick, including the repository
+ * updates and the fan-out to the given number of subscribers. Run with the
+ * gc profiler to get the allocations per tick.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class QuoteUtilBenchmark {
+
+    @Param({ "1", "4", "16", "64" })
+    public int subscribers;
+
+    private QuoteUtil quoteUtil;
+    private ITick[] ticks;
+    private int tickIndex;
+    private TickQuote lastTickQuote;
+
+    private final Instrument instrument = Instrument.EURUSD;
+
+    @Setup
+    public void setUp() {
+        quoteUtil = QuoteBenchmarkSetup.quoteUtil();
+        ticks = QuoteBenchmarkSetup.ticks();
+        for (int i = 0; i < subscribers; ++i)
+            quoteUtil
+                .tickQuoteProvider()
+                .observable()
+                .subscribe(this::onTickQuote);
+    }
+
+    private void onTickQuote(final TickQuote tickQuote) {
+        lastTickQuote = tickQuote;
+    }
+
+    @TearDown
+    public void tearDown() {
+        quoteUtil.onStop();
+    }
+
+    @Benchmark
+    public TickQuote onTick() {
+        quoteUtil.onTick(instrument, ticks[tickIndex++ & QuoteBenchmarkSetup.tickIndexMask]);
+        return lastTickQuote;
+    }
+}
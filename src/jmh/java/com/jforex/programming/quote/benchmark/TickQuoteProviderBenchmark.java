@@ -0,0 +1,65 @@
+package com.jforex.programming.quote.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dukascopy.api.ITick;
+import com.dukascopy.api.Instrument;
+import com.jforex.programming.quote.TickQuoteProvider;
+import com.jforex.programming.strategy.QuoteUtil;
+
+/**
+ * Reads of the latest quote through TickQuoteProvider.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class TickQuoteProviderBenchmark {
+
+    private QuoteUtil quoteUtil;
+    private TickQuoteProvider tickQuoteProvider;
+
+    private final Instrument instrument = Instrument.EURUSD;
+
+    @Setup
+    public void setUp() {
+        quoteUtil = QuoteBenchmarkSetup.quoteUtil();
+        tickQuoteProvider = quoteUtil.tickQuoteProvider();
+        for (final ITick tick : QuoteBenchmarkSetup.ticks())
+            quoteUtil.onTick(instrument, tick);
+    }
+
+    @TearDown
+    public void tearDown() {
+        quoteUtil.onStop();
+    }
+
+    @Benchmark
+    public ITick tick() {
+        return tickQuoteProvider.tick(instrument);
+    }
+
+    @Benchmark
+    public double ask() {
+        return tickQuoteProvider.ask(instrument);
+    }
+
+    @Benchmark
+    public double bid() {
+        return tickQuoteProvider.bid(instrument);
+    }
+}
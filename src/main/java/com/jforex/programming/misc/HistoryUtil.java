@@ -23,6 +23,7 @@ import com.jforex.programming.settings.UserSettings;
 import com.jforex.programming.strategy.StrategyUtil;
 
 import io.reactivex.Observable;
+import io.reactivex.schedulers.Schedulers;
 
 public class HistoryUtil {
 
@@ -31,6 +32,7 @@ public class HistoryUtil {
     private static final UserSettings userSettings = StrategyUtil.userSettings;
     private static final long delayOnHistoryFailRetry = userSettings.delayOnHistoryFailRetry();
     private static final int maxRetriesOnHistoryFail = userSettings.maxRetriesOnHistoryFail();
+    private static final int warmUpParallelism = userSettings.warmUpParallelism();
     private static final Logger logger = LogManager.getLogger(HistoryUtil.class);
 
     public HistoryUtil(final IHistory history) {
@@ -40,7 +42,8 @@ public class HistoryUtil {
     public Observable<TickQuote> tickQuotesObservable(final Set<Instrument> instruments) {
         return Observable
             .fromIterable(instruments)
-            .flatMap(this::tickQuoteObservable);
+            .flatMap(instrument -> tickQuoteObservable(instrument).subscribeOn(Schedulers.io()),
+                     warmUpParallelism);
     }
 
     public Observable<TickQuote> tickQuoteObservable(final Instrument instrument) {
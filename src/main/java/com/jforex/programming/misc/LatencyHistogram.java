@@ -0,0 +1,88 @@
+package com.jforex.programming.misc;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of nanosecond latencies.
+ *
+ * Values below 16 have their own bucket. Larger values are grouped by their
+ * highest bit into 16 linear sub buckets, which keeps the relative error of
+ * a percentile below 1/16. Values are clamped to 2^41 - 1 nanos, the upper
+ * bound of the last bucket, so the running sum of the mean can not
+ * overflow.
+ */
+public final class LatencyHistogram {
+
+    private final AtomicLongArray bucketCounts = new AtomicLongArray(noOfBuckets);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    private static final int subBucketBits = 4;
+    private static final int subBuckets = 1 << subBucketBits;
+    private static final int maxExponent = 40;
+    private static final int noOfBuckets = (maxExponent - subBucketBits + 2) * subBuckets;
+    private static final long maxValue = bucketUpperBound(noOfBuckets - 1);
+
+    public void record(final long nanos) {
+        final long value = Math.min(Math.max(nanos, 0L), maxValue);
+        bucketCounts.incrementAndGet(bucketIndex(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+
+        long currentMax;
+        while (value > (currentMax = max.get()))
+            if (max.compareAndSet(currentMax, value))
+                break;
+    }
+
+    private static int bucketIndex(final long value) {
+        if (value < subBuckets)
+            return (int) value;
+
+        final int exponent = Math.min(63 - Long.numberOfLeadingZeros(value), maxExponent);
+        final int subBucket = (int) (Math.min(value >>> exponent - subBucketBits, 2L * subBuckets - 1L)
+                - subBuckets);
+        return (exponent - subBucketBits + 1) * subBuckets + subBucket;
+    }
+
+    private static long bucketUpperBound(final int index) {
+        if (index < subBuckets)
+            return index;
+
+        final int exponent = index / subBuckets + subBucketBits - 1;
+        final long subBucket = index % subBuckets;
+        return ((subBuckets + subBucket + 1L) << exponent - subBucketBits) - 1L;
+    }
+
+    public long count() {
+        return count.get();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    public double mean() {
+        final long currentCount = count.get();
+        return currentCount == 0L
+                ? 0.0
+                : (double) sum.get() / currentCount;
+    }
+
+    public long percentile(final double percentile) {
+        final long currentCount = count.get();
+        if (currentCount == 0L)
+            return 0L;
+
+        final long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * currentCount));
+        long seen = 0L;
+        for (int i = 0; i < noOfBuckets - 1; ++i) {
+            seen += bucketCounts.get(i);
+            if (seen >= rank)
+                return Math.min(bucketUpperBound(i), max.get());
+        }
+        return max.get();
+    }
+}
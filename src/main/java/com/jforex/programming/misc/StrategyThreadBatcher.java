@@ -0,0 +1,114 @@
+package com.jforex.programming.misc;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.dukascopy.api.IContext;
+
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import io.reactivex.SingleEmitter;
+
+/**
+ * Coalesces commands into one context task.
+ *
+ * The first queued command schedules a flush after the batch window. A
+ * flush is also started as soon as the queue reaches the max batch size.
+ * The flush runs all queued commands back to back on the strategy thread
+ * and emits each result there.
+ */
+public class StrategyThreadBatcher {
+
+    private final IContext context;
+    private final long batchWindowMillis;
+    private final int maxBatchSize;
+    private final Scheduler scheduler;
+    private final Queue<BatchedCommand<?>> queuedCommands = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedCount = new AtomicInteger();
+    private final AtomicBoolean isFlushScheduled = new AtomicBoolean();
+
+    private static final Logger logger = LogManager.getLogger(StrategyThreadBatcher.class);
+
+    private static final class BatchedCommand<T> {
+
+        private final Callable<T> callable;
+        private final SingleEmitter<T> emitter;
+
+        private BatchedCommand(final Callable<T> callable,
+                               final SingleEmitter<T> emitter) {
+            this.callable = callable;
+            this.emitter = emitter;
+        }
+
+        private void run() {
+            try {
+                emitter.onSuccess(callable.call());
+            } catch (final Exception e) {
+                emitter.tryOnError(e);
+            }
+        }
+    }
+
+    public StrategyThreadBatcher(final IContext context,
+                                 final long batchWindowMillis,
+                                 final int maxBatchSize,
+                                 final Scheduler scheduler) {
+        this.context = context;
+        this.batchWindowMillis = batchWindowMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = scheduler;
+    }
+
+    public <T> Single<T> execute(final Callable<T> callable) {
+        return Single.create(emitter -> enqueue(new BatchedCommand<>(callable, emitter)));
+    }
+
+    private void enqueue(final BatchedCommand<?> batchedCommand) {
+        queuedCommands.add(batchedCommand);
+        if (queuedCount.incrementAndGet() == maxBatchSize)
+            flush();
+        else if (isFlushScheduled.compareAndSet(false, true))
+            scheduler.scheduleDirect(this::flush,
+                                     batchWindowMillis,
+                                     TimeUnit.MILLISECONDS);
+    }
+
+    private void flush() {
+        try {
+            context.executeTask(() -> {
+                runQueuedCommands();
+                return null;
+            });
+        } catch (final RuntimeException e) {
+            logger.error("Could not execute command batch! " + e.getMessage());
+            failQueuedCommands(e);
+        }
+    }
+
+    private void runQueuedCommands() {
+        isFlushScheduled.set(false);
+
+        BatchedCommand<?> batchedCommand;
+        while ((batchedCommand = queuedCommands.poll()) != null) {
+            queuedCount.decrementAndGet();
+            batchedCommand.run();
+        }
+    }
+
+    private void failQueuedCommands(final Throwable error) {
+        isFlushScheduled.set(false);
+
+        BatchedCommand<?> batchedCommand;
+        while ((batchedCommand = queuedCommands.poll()) != null) {
+            queuedCount.decrementAndGet();
+            batchedCommand.emitter.tryOnError(error);
+        }
+    }
+}
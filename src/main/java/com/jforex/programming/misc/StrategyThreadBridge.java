@@ -0,0 +1,73 @@
+package com.jforex.programming.misc;
+
+import java.util.concurrent.Callable;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.dukascopy.api.IContext;
+import com.jforex.programming.strategy.StrategyUtil;
+
+import io.reactivex.Single;
+import io.reactivex.SingleEmitter;
+
+/**
+ * Runs commands on the strategy thread without waiting for the returned
+ * future.
+ *
+ * The command task itself emits the result from the strategy thread, so no
+ * scheduler thread is blocked while the command is queued. The task also
+ * remembers the strategy thread, which turns later thread checks into an
+ * identity comparison instead of a thread name lookup.
+ */
+public class StrategyThreadBridge {
+
+    private final IContext context;
+    private volatile Thread strategyThread;
+
+    private static final Logger logger = LogManager.getLogger(StrategyThreadBridge.class);
+
+    public StrategyThreadBridge(final IContext context) {
+        this.context = context;
+    }
+
+    public boolean isStrategyThread() {
+        final Thread currentThread = Thread.currentThread();
+        final Thread knownStrategyThread = strategyThread;
+        if (knownStrategyThread != null)
+            return currentThread == knownStrategyThread;
+
+        if (!StrategyUtil.isStrategyThread())
+            return false;
+
+        strategyThread = currentThread;
+        return true;
+    }
+
+    public <T> Single<T> execute(final Callable<T> callable) {
+        return Single.create(emitter -> submit(callable, emitter));
+    }
+
+    private <T> void submit(final Callable<T> callable,
+                            final SingleEmitter<T> emitter) {
+        try {
+            context.executeTask(() -> {
+                strategyThread = Thread.currentThread();
+                emit(callable, emitter);
+                return null;
+            });
+        } catch (final RuntimeException e) {
+            logger.error("Could not execute command on strategy thread! " + e.getMessage());
+            emitter.tryOnError(e);
+        }
+    }
+
+    private <T> void emit(final Callable<T> callable,
+                          final SingleEmitter<T> emitter) {
+        try {
+            emitter.onSuccess(callable.call());
+        } catch (final Exception e) {
+            emitter.tryOnError(e);
+        }
+    }
+}
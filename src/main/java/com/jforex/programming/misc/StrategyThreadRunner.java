@@ -2,6 +2,7 @@ package com.jforex.programming.misc;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.Optional;
 import java.util.concurrent.Callable;
 
 import com.dukascopy.api.IContext;
@@ -11,13 +12,36 @@ import com.jforex.programming.strategy.StrategyUtil;
 import io.reactivex.Completable;
 import io.reactivex.Single;
 import io.reactivex.functions.Action;
+import io.reactivex.schedulers.Schedulers;
 
 public class StrategyThreadRunner {
 
     private final IContext context;
+    private final Optional<StrategyThreadBatcher> strategyThreadBatcher;
+    private final Optional<StrategyThreadBridge> strategyThreadBridge;
 
     public StrategyThreadRunner(final IContext context) {
         this.context = context;
+        strategyThreadBatcher = Optional.empty();
+        strategyThreadBridge = Optional.empty();
+    }
+
+    public StrategyThreadRunner(final IContext context,
+                                final StrategyThreadBridge strategyThreadBridge) {
+        this.context = context;
+        strategyThreadBatcher = Optional.empty();
+        this.strategyThreadBridge = Optional.of(strategyThreadBridge);
+    }
+
+    public StrategyThreadRunner(final IContext context,
+                                final long batchWindowMillis,
+                                final int maxBatchSize) {
+        this.context = context;
+        strategyThreadBatcher = Optional.of(new StrategyThreadBatcher(context,
+                                                                      batchWindowMillis,
+                                                                      maxBatchSize,
+                                                                      Schedulers.computation()));
+        strategyThreadBridge = Optional.empty();
     }
 
     public Completable execute(final Action action) {
@@ -29,8 +53,24 @@ public class StrategyThreadRunner {
     public <T> Single<T> execute(final Callable<T> callable) {
         checkNotNull(callable);
 
-        return StrategyUtil.isStrategyThread()
-                ? Single.fromCallable(callable)
-                : Single.defer(() -> Single.fromFuture(context.executeTask(callable)));
+        if (isStrategyThread())
+            return Single.fromCallable(callable);
+
+        if (strategyThreadBatcher.isPresent())
+            return strategyThreadBatcher
+                .get()
+                .execute(callable);
+
+        return strategyThreadBridge
+            .map(bridge -> bridge.execute(callable))
+            .orElseGet(() -> Single.defer(() -> Single.fromFuture(context.executeTask(callable))));
+    }
+
+    private boolean isStrategyThread() {
+        return strategyThreadBridge.isPresent()
+                ? strategyThreadBridge
+                    .get()
+                    .isStrategyThread()
+                : StrategyUtil.isStrategyThread();
     }
 }
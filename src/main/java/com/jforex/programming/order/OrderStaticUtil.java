@@ -14,6 +14,7 @@ import com.google.common.collect.ImmutableBiMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import com.jforex.programming.math.MathUtil;
+import com.jforex.programming.order.call.OrderCallReason;
 import com.jforex.programming.settings.PlatformSettings;
 import com.jforex.programming.strategy.StrategyUtil;
 
@@ -196,4 +197,11 @@ public final class OrderStaticUtil {
         final double signedOrderAmount = signedAmount(order);
         return signedAmountForReplace(signedOrderAmount, targedSignedAmount);
     }
+
+    public static final OrderCallReason callReasonForClose(final IOrder order,
+                                                           final double closeAmount) {
+        return closeAmount > 0 && closeAmount < order.getAmount()
+                ? OrderCallReason.PARTIAL_CLOSE
+                : OrderCallReason.CLOSE;
+    }
 }
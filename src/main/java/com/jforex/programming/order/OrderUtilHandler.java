@@ -1,8 +1,10 @@
 package com.jforex.programming.order;
 
 import com.dukascopy.api.IOrder;
+import com.jforex.programming.order.call.OrderCallMetrics;
 import com.jforex.programming.order.call.OrderCallReason;
 import com.jforex.programming.order.call.OrderCallRequest;
+import com.jforex.programming.order.call.OrderCallStage;
 import com.jforex.programming.order.event.OrderEvent;
 import com.jforex.programming.order.event.OrderEventGateway;
 import com.jforex.programming.order.event.OrderEventTypeData;
@@ -16,13 +18,16 @@ public class OrderUtilHandler {
     private final OrderEventGateway orderEventGateway;
     private final OrderEventTypeDataFactory orderEventTypeDataFactory;
     private final JFHotPublisher<OrderCallRequest> callRequestPublisher;
+    private final OrderCallMetrics orderCallMetrics;
 
     public OrderUtilHandler(final OrderEventGateway orderEventGateway,
                             final OrderEventTypeDataFactory orderEventTypeDataFactory,
-                            final JFHotPublisher<OrderCallRequest> callRequestPublisher) {
+                            final JFHotPublisher<OrderCallRequest> callRequestPublisher,
+                            final OrderCallMetrics orderCallMetrics) {
         this.orderEventGateway = orderEventGateway;
         this.orderEventTypeDataFactory = orderEventTypeDataFactory;
         this.callRequestPublisher = callRequestPublisher;
+        this.orderCallMetrics = orderCallMetrics;
     }
 
     public Observable<OrderEvent> callObservable(final IOrder orderOfCall,
@@ -31,15 +36,35 @@ public class OrderUtilHandler {
             .just(orderOfCall)
             .doOnSubscribe(d -> callRequestPublisher.onNext(new OrderCallRequest(orderOfCall, callReason)))
             .map(order -> orderEventTypeDataFactory.forCallReason(callReason))
-            .flatMap(type -> gatewayObservable(orderOfCall, type));
+            .flatMap(type -> gatewayObservable(orderOfCall,
+                                               type,
+                                               callReason,
+                                               System.nanoTime()));
     }
 
     private final Observable<OrderEvent> gatewayObservable(final IOrder order,
-                                                           final OrderEventTypeData typeData) {
+                                                           final OrderEventTypeData typeData,
+                                                           final OrderCallReason callReason,
+                                                           final long callTime) {
         return orderEventGateway
-            .observable()
-            .filter(orderEvent -> orderEvent.order().equals(order))
+            .observableForOrder(order)
             .filter(orderEvent -> typeData.allEventTypes().contains(orderEvent.type()))
-            .takeUntil((final OrderEvent orderEvent) -> typeData.finishEventTypes().contains(orderEvent.type()));
+            .takeUntil((final OrderEvent orderEvent) -> isFinishEvent(orderEvent,
+                                                                      typeData,
+                                                                      callReason,
+                                                                      callTime));
+    }
+
+    private boolean isFinishEvent(final OrderEvent orderEvent,
+                                  final OrderEventTypeData typeData,
+                                  final OrderCallReason callReason,
+                                  final long callTime) {
+        if (!typeData.finishEventTypes().contains(orderEvent.type()))
+            return false;
+
+        orderCallMetrics.record(callReason,
+                                OrderCallStage.ACK,
+                                System.nanoTime() - callTime);
+        return true;
     }
 }
@@ -0,0 +1,61 @@
+package com.jforex.programming.order.call;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.jforex.programming.misc.LatencyHistogram;
+
+/**
+ * Latency histograms of order calls per call reason and stage.
+ */
+public class OrderCallMetrics {
+
+    private final Map<OrderCallReason, Map<OrderCallStage, LatencyHistogram>> histograms =
+            new EnumMap<>(OrderCallReason.class);
+
+    public OrderCallMetrics() {
+        for (final OrderCallReason callReason : OrderCallReason.values()) {
+            final Map<OrderCallStage, LatencyHistogram> histogramByStage = new EnumMap<>(OrderCallStage.class);
+            for (final OrderCallStage callStage : OrderCallStage.values())
+                histogramByStage.put(callStage, new LatencyHistogram());
+            histograms.put(callReason, histogramByStage);
+        }
+    }
+
+    public void record(final OrderCallReason callReason,
+                       final OrderCallStage callStage,
+                       final long nanos) {
+        histogram(callReason, callStage).record(nanos);
+    }
+
+    public LatencyHistogram histogram(final OrderCallReason callReason,
+                                      final OrderCallStage callStage) {
+        return histograms
+            .get(callReason)
+            .get(callStage);
+    }
+
+    public String dump() {
+        final StringBuilder dump = new StringBuilder("Order call latencies in micros (count/mean/p50/p99/max):");
+        histograms.forEach((callReason, histogramByStage) -> histogramByStage.forEach((callStage, histogram) -> {
+            if (histogram.count() > 0L)
+                dump
+                    .append(System.lineSeparator())
+                    .append(callReason)
+                    .append(' ')
+                    .append(callStage)
+                    .append(": ")
+                    .append(histogram.count())
+                    .append('/')
+                    .append(TimeUnit.NANOSECONDS.toMicros((long) histogram.mean()))
+                    .append('/')
+                    .append(TimeUnit.NANOSECONDS.toMicros(histogram.percentile(50.0)))
+                    .append('/')
+                    .append(TimeUnit.NANOSECONDS.toMicros(histogram.percentile(99.0)))
+                    .append('/')
+                    .append(TimeUnit.NANOSECONDS.toMicros(histogram.max()));
+        }));
+        return dump.toString();
+    }
+}
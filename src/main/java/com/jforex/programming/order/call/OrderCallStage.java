@@ -0,0 +1,15 @@
+package com.jforex.programming.order.call;
+
+/**
+ * These values represent the measured stages of an order related server
+ * call.
+ */
+public enum OrderCallStage {
+
+    /** From issuing the call until it starts on the strategy thread. */
+    QUEUE,
+    /** The engine or order method call on the strategy thread. */
+    ENGINE,
+    /** From the returned engine call until the finish event of the call arrives. */
+    ACK,
+}
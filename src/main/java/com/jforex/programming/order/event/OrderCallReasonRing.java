@@ -0,0 +1,101 @@
+package com.jforex.programming.order.event;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.jforex.programming.order.call.OrderCallReason;
+
+/**
+ * Pending call reasons of one order, packed as ordinals into a single long.
+ *
+ * The lowest four bits hold the count, followed by up to {@link #capacity}
+ * ordinals of four bits with the oldest one first. Adding and polling are
+ * single compare and set operations as long as the ring does not overflow.
+ *
+ * No reason is ever dropped: when the ring is full, the highest bit marks
+ * the overflow and further reasons go to a locked overflow queue. While
+ * the mark is set, new reasons are queued behind the overflow, so they are
+ * polled in call order once the ring is drained.
+ */
+public final class OrderCallReasonRing {
+
+    private final AtomicLong packedReasons = new AtomicLong();
+    private final ArrayDeque<OrderCallReason> overflowReasons = new ArrayDeque<>();
+
+    public static final int capacity = 14;
+    private static final int countBits = 4;
+    private static final int reasonBits = 4;
+    private static final long countMask = (1L << countBits) - 1L;
+    private static final long reasonMask = (1L << reasonBits) - 1L;
+    private static final long overflowFlag = Long.MIN_VALUE;
+    private static final OrderCallReason[] callReasons = OrderCallReason.values();
+
+    static {
+        if (callReasons.length > reasonMask + 1L)
+            throw new IllegalStateException("Too many call reasons for " + reasonBits + " bits!");
+    }
+
+    public void add(final OrderCallReason callReason) {
+        if (!tryAddToRing(callReason))
+            addToOverflow(callReason);
+    }
+
+    private boolean tryAddToRing(final OrderCallReason callReason) {
+        long current;
+        long next;
+        do {
+            current = packedReasons.get();
+            final int count = (int) (current & countMask);
+            if (count == capacity || (current & overflowFlag) != 0L)
+                return false;
+
+            final long reasons = current >>> countBits
+                    | (long) callReason.ordinal() << (count * reasonBits);
+            next = reasons << countBits | count + 1;
+        } while (!packedReasons.compareAndSet(current, next));
+        return true;
+    }
+
+    private synchronized void addToOverflow(final OrderCallReason callReason) {
+        while (true) {
+            final long current = packedReasons.get();
+            if ((current & overflowFlag) != 0L)
+                break;
+            if (tryAddToRing(callReason))
+                return;
+            if ((current & countMask) == capacity
+                    && packedReasons.compareAndSet(current, current | overflowFlag))
+                break;
+        }
+        overflowReasons.add(callReason);
+    }
+
+    public OrderCallReason poll() {
+        long current;
+        long next;
+        do {
+            current = packedReasons.get();
+            final long count = current & countMask;
+            if (count == 0L)
+                return (current & overflowFlag) != 0L
+                        ? pollOverflow()
+                        : null;
+
+            final long remainingReasons = (current & ~overflowFlag) >>> countBits + reasonBits;
+            next = remainingReasons << countBits | count - 1L | current & overflowFlag;
+        } while (!packedReasons.compareAndSet(current, next));
+
+        return callReasons[(int) (current >>> countBits & reasonMask)];
+    }
+
+    private synchronized OrderCallReason pollOverflow() {
+        final long current = packedReasons.get();
+        if (current != overflowFlag)
+            return poll();
+
+        final OrderCallReason callReason = overflowReasons.poll();
+        if (overflowReasons.isEmpty())
+            packedReasons.set(0L);
+        return callReason;
+    }
+}
@@ -2,9 +2,8 @@ package com.jforex.programming.order.event;
 
 import static com.jforex.programming.order.event.OrderEventTypeSets.infoEvents;
 
-import java.util.Queue;
+import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 
 import com.dukascopy.api.IMessage;
@@ -19,7 +18,7 @@ import io.reactivex.Observable;
 
 public class OrderEventFactory {
 
-    private final ConcurrentMap<IOrder, Queue<OrderCallReason>> callReasonByOrder =
+    private final ConcurrentMap<IOrder, OrderCallReasonRing> callReasonsByOrder =
             new MapMaker().weakKeys().makeMap();
 
     public OrderEventFactory(final Observable<OrderCallRequest> callRequestObservable) {
@@ -27,18 +26,35 @@ public class OrderEventFactory {
     }
 
     private void registerOrderCallRequest(final OrderCallRequest orderCallRequest) {
-        final IOrder order = orderCallRequest.order();
-        callReasonByOrder.putIfAbsent(order, new ConcurrentLinkedQueue<>());
-        callReasonByOrder.get(order).add(orderCallRequest.reason());
+        callReasonsByOrder
+            .computeIfAbsent(orderCallRequest.order(), order -> new OrderCallReasonRing())
+            .add(orderCallRequest.reason());
+    }
+
+    public void restoreCallReasons(final IOrder order,
+                                   final List<OrderCallReason> callReasons) {
+        if (callReasons.isEmpty())
+            return;
+
+        final OrderCallReasonRing callReasonRing =
+                callReasonsByOrder.computeIfAbsent(order, key -> new OrderCallReasonRing());
+        callReasons.forEach(callReasonRing::add);
     }
 
     public OrderEvent fromMessage(final IMessage message) {
         final IOrder order = message.getOrder();
         final OrderEventType orderEventType = calculateType(message);
-        final OrderEvent orderEvent = evaluateToOrderEvent(order,
-                                                           message,
-                                                           orderEventType);
-        cleanUpRegisteredOrder(order);
+        final OrderCallReasonRing callReasons = callReasonsByOrder.get(order);
+        final OrderEvent orderEvent = callReasons != null
+                ? eventForInternalOrder(order,
+                                        message,
+                                        orderEventType,
+                                        callReasons)
+                : eventForExternalOrder(order,
+                                        message,
+                                        orderEventType);
+        if (callReasons != null)
+            cleanUpRegisteredOrder(order);
 
         return orderEvent;
     }
@@ -50,32 +66,19 @@ public class OrderEventFactory {
                 : OrderEventTypeMapper.byMessageType(message.getType(), message.getOrder());
     }
 
-    private final OrderEvent evaluateToOrderEvent(final IOrder order,
-                                                  final IMessage message,
-                                                  final OrderEventType orderEventType) {
-        return callReasonByOrder.keySet().contains(order)
-                ? eventForInternalOrder(order,
-                                        message,
-                                        orderEventType)
-                : eventForExternalOrder(order,
-                                        message,
-                                        orderEventType);
-    }
-
     private final void cleanUpRegisteredOrder(final IOrder order) {
         if (OrderStaticUtil.isClosed.test(order) ||
-                OrderStaticUtil.isCanceled.test(order)) {
-            if (callReasonByOrder.containsKey(order))
-                callReasonByOrder.remove(order).clear();
-        }
+                OrderStaticUtil.isCanceled.test(order))
+            callReasonsByOrder.remove(order);
     }
 
     private final OrderEvent eventForInternalOrder(final IOrder order,
                                                    final IMessage message,
-                                                   final OrderEventType rawOrderEventType) {
+                                                   final OrderEventType rawOrderEventType,
+                                                   final OrderCallReasonRing callReasons) {
         final OrderEventType orderEventType = infoEvents.contains(rawOrderEventType)
                 ? rawOrderEventType
-                : eventTypeForDoneTrigger(order, rawOrderEventType);
+                : eventTypeForDoneTrigger(rawOrderEventType, callReasons.poll());
 
         return new OrderEvent(order,
                               message,
@@ -92,17 +95,9 @@ public class OrderEventFactory {
                               false);
     }
 
-    private final OrderEventType eventTypeForDoneTrigger(final IOrder order,
-                                                         final OrderEventType orderEventType) {
-        return callReasonByOrder.get(order).isEmpty()
-                ? orderEventType
-                : refineEventType(order, orderEventType);
-    }
-
-    private final OrderEventType refineEventType(final IOrder order,
-                                                 final OrderEventType orderEventType) {
-        final OrderCallReason callReason = callReasonByOrder.get(order).poll();
-        return orderEventType == OrderEventType.CHANGED_REJECTED
+    private final OrderEventType eventTypeForDoneTrigger(final OrderEventType orderEventType,
+                                                         final OrderCallReason callReason) {
+        return callReason != null && orderEventType == OrderEventType.CHANGED_REJECTED
                 ? OrderEventTypeMapper.byChangeCallReason(callReason)
                 : orderEventType;
     }
@@ -1,20 +1,24 @@
 package com.jforex.programming.order.event;
 
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.dukascopy.api.IMessage;
 import com.dukascopy.api.IOrder;
 import com.jforex.programming.rx.JFHotPublisher;
 
 import io.reactivex.Observable;
+import io.reactivex.ObservableEmitter;
 
 public class OrderEventGateway {
 
     private final JFHotPublisher<OrderEvent> orderEventPublisher = new JFHotPublisher<>();
     private final OrderEventFactory orderEventFactory;
-
-    private static final Logger logger = LogManager.getLogger(OrderEventGateway.class);
+    private final OrderEventJournal orderEventJournal = new OrderEventJournal();
+    private final ConcurrentMap<IOrder, List<ObservableEmitter<OrderEvent>>> emittersByOrder =
+            new ConcurrentHashMap<>();
 
     public OrderEventGateway(final Observable<IMessage> messageObservable,
                              final OrderEventFactory orderEventFactory) {
@@ -27,22 +31,58 @@ public class OrderEventGateway {
 
     private void onOrderMessage(final IMessage message) {
         final OrderEvent orderEvent = orderEventFactory.fromMessage(message);
-        final IOrder order = orderEvent.order();
-        logger.debug("Received order event with label " + order.getLabel()
-                + " for " + order.getInstrument() + " " + orderEvent);
+        orderEventJournal.onOrderEvent(orderEvent);
+        publish(orderEvent);
+    }
+
+    private void publish(final OrderEvent orderEvent) {
         orderEventPublisher.onNext(orderEvent);
+
+        final List<ObservableEmitter<OrderEvent>> emitters = emittersByOrder.get(orderEvent.order());
+        if (emitters != null)
+            emitters.forEach(emitter -> emitter.onNext(orderEvent));
     }
 
     public Observable<OrderEvent> observable() {
         return orderEventPublisher.observable();
     }
 
+    public Observable<OrderEvent> observableForOrder(final IOrder order) {
+        return Observable.create(emitter -> {
+            emittersByOrder.compute(order, (key, emitters) -> addEmitter(emitters, emitter));
+            emitter.setCancellable(() -> removeEmitter(order, emitter));
+        });
+    }
+
+    private List<ObservableEmitter<OrderEvent>> addEmitter(final List<ObservableEmitter<OrderEvent>> emitters,
+                                                           final ObservableEmitter<OrderEvent> emitter) {
+        final List<ObservableEmitter<OrderEvent>> orderEmitters = emitters == null
+                ? new CopyOnWriteArrayList<>()
+                : emitters;
+        orderEmitters.add(emitter);
+        return orderEmitters;
+    }
+
+    private void removeEmitter(final IOrder order,
+                               final ObservableEmitter<OrderEvent> emitter) {
+        emittersByOrder.computeIfPresent(order, (key, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty()
+                    ? null
+                    : emitters;
+        });
+    }
+
     public void importOrder(final IOrder order) {
         final OrderEvent orderEvent = new OrderEvent(order,
                                                      null,
                                                      OrderEventType.SUBMIT_OK,
                                                      true);
-        logger.debug("Importing order " + order.getLabel() + " for " + order.getInstrument());
-        orderEventPublisher.onNext(orderEvent);
+        orderEventJournal.onImportedOrder(orderEvent);
+        publish(orderEvent);
+    }
+
+    public void onStop() {
+        orderEventJournal.stop();
     }
 }
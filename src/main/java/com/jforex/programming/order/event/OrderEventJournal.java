@@ -0,0 +1,153 @@
+package com.jforex.programming.order.event;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.dukascopy.api.IOrder;
+import com.dukascopy.api.Instrument;
+
+/**
+ * Logs order events from a background thread.
+ *
+ * The calling thread only copies the event fields into a preallocated
+ * record, and nothing at all happens if debug logging is disabled. Records
+ * circulate between a free and a pending queue of the journal capacity, so
+ * no record is allocated per event. The writer is started with the first
+ * record and blocks on the pending queue while there is nothing to log.
+ * When no free record is left, the event is dropped and counted.
+ */
+public class OrderEventJournal {
+
+    private final BlockingQueue<Record> freeRecords;
+    private final BlockingQueue<Record> pendingRecords;
+    private final Executor writerExecutor;
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicBoolean isStarted = new AtomicBoolean();
+    private volatile boolean isStopped;
+    private volatile Thread writerThread;
+
+    private static final int defaultCapacity = 4096;
+    private static final Logger logger = LogManager.getLogger(OrderEventJournal.class);
+
+    public OrderEventJournal() {
+        this(defaultCapacity);
+    }
+
+    public OrderEventJournal(final int capacity) {
+        this(capacity, OrderEventJournal::startWriterThread);
+    }
+
+    public OrderEventJournal(final int capacity,
+                             final Executor writerExecutor) {
+        final int recordCount = Math.max(capacity, 1);
+        freeRecords = new ArrayBlockingQueue<>(recordCount);
+        pendingRecords = new ArrayBlockingQueue<>(recordCount);
+        this.writerExecutor = writerExecutor;
+        for (int i = 0; i < recordCount; ++i)
+            freeRecords.add(new Record());
+    }
+
+    private static void startWriterThread(final Runnable writeLoop) {
+        final Thread thread = new Thread(writeLoop, "OrderEventJournal");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void onOrderEvent(final OrderEvent orderEvent) {
+        record(orderEvent, false);
+    }
+
+    public void onImportedOrder(final OrderEvent orderEvent) {
+        record(orderEvent, true);
+    }
+
+    private void record(final OrderEvent orderEvent,
+                        final boolean isImport) {
+        if (isStopped || !logger.isDebugEnabled())
+            return;
+        if (!isStarted.get() && isStarted.compareAndSet(false, true))
+            writerExecutor.execute(this::writeLoop);
+
+        final Record record = freeRecords.poll();
+        if (record == null) {
+            droppedCount.incrementAndGet();
+            return;
+        }
+
+        record.set(orderEvent, isImport);
+        pendingRecords.add(record);
+    }
+
+    private void writeLoop() {
+        writerThread = Thread.currentThread();
+        try {
+            while (!isStopped)
+                write(pendingRecords.take());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        Record record;
+        while ((record = pendingRecords.poll()) != null)
+            write(record);
+    }
+
+    private void write(final Record record) {
+        record.write();
+        freeRecords.add(record);
+    }
+
+    public long droppedCount() {
+        return droppedCount.get();
+    }
+
+    public int pendingCount() {
+        return pendingRecords.size();
+    }
+
+    public void stop() {
+        isStopped = true;
+        final Thread thread = writerThread;
+        if (thread != null)
+            thread.interrupt();
+    }
+
+    private static final class Record {
+
+        private String label;
+        private Instrument instrument;
+        private OrderEventType type;
+        private boolean isInternal;
+        private boolean isImport;
+
+        private void set(final OrderEvent orderEvent,
+                         final boolean isImport) {
+            final IOrder order = orderEvent.order();
+            label = order.getLabel();
+            instrument = order.getInstrument();
+            type = orderEvent.type();
+            isInternal = orderEvent.isInternal();
+            this.isImport = isImport;
+        }
+
+        private void write() {
+            if (isImport)
+                logger.debug("Imported order {} for {}", label, instrument);
+            else
+                logger.debug("Received order event {} with label {} for {} (internal: {})",
+                             type,
+                             label,
+                             instrument,
+                             isInternal);
+            label = null;
+            instrument = null;
+            type = null;
+        }
+    }
+}
@@ -0,0 +1,444 @@
+package com.jforex.programming.order.event;
+
+import static com.jforex.programming.order.event.OrderEventTypeSets.infoEvents;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.dukascopy.api.IOrder;
+import com.jforex.programming.order.OrderStaticUtil;
+import com.jforex.programming.order.call.OrderCallReason;
+import com.jforex.programming.order.call.OrderCallRequest;
+
+/**
+ * Persists the pending call reasons of internal orders across strategy
+ * restarts.
+ *
+ * Call requests and order events are appended to a memory mapped journal
+ * file. Every snapshot interval records, the state is copied and written to
+ * a snapshot file from a background thread, while the records go on with
+ * the next generation in the other of two journal files. Each record carries
+ * its generation, so the records a reused file still holds from an older
+ * generation are never replayed and no file has to be truncated. The other
+ * file is reused only after the snapshot covering it was written, so the
+ * snapshot and the journals of the newer generations always hold the full
+ * state. On open, they are loaded and written to a new snapshot right away.
+ *
+ * The state is keyed by order label, since an order gets its id only after
+ * the submit was accepted. Imported orders consume no pending call reason,
+ * and like the call reason ring of the event factory, no pending reason is
+ * ever dropped.
+ *
+ * A corrupt snapshot discards the whole state and a corrupt journal file is
+ * ignored, each with an error log. The replay stops at the first corrupt
+ * journal record. After a write error, the journal records nothing more and
+ * keeps the state for the snapshot on close.
+ */
+public class OrderStateJournal implements Closeable {
+
+    private final Path directory;
+    private final Path snapshotFile;
+    private final int snapshotInterval;
+    private final Executor snapshotExecutor;
+    private final Map<String, ArrayDeque<OrderCallReason>> callReasonsByLabel = new HashMap<>();
+    private CompletableFuture<Void> snapshotWrite = CompletableFuture.completedFuture(null);
+    private byte[] lastSnapshot;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long segmentStart;
+    private long generation;
+    private int recordsSinceSnapshot;
+    private boolean isStopped;
+    private boolean isClosed;
+
+    private static final int magic = 0x4A464F4A;
+    private static final int version = 2;
+    private static final int headerSize = 4 + 4 + 8;
+    private static final int recordStartSize = 1 + 4 + 2;
+    private static final byte callRequestRecord = 1;
+    private static final byte orderEventRecord = 2;
+    private static final int maxLabelBytes = Short.MAX_VALUE;
+    private static final long segmentSize = 4L * 1024L * 1024L;
+    private static final OrderCallReason[] callReasons = OrderCallReason.values();
+    private static final OrderEventType[] eventTypes = OrderEventType.values();
+    private static final Logger logger = LogManager.getLogger(OrderStateJournal.class);
+
+    public OrderStateJournal(final Path directory,
+                             final int snapshotInterval) throws IOException {
+        this(directory,
+             snapshotInterval,
+             OrderStateJournal::startSnapshotThread);
+    }
+
+    public OrderStateJournal(final Path directory,
+                             final int snapshotInterval,
+                             final Executor snapshotExecutor) throws IOException {
+        Files.createDirectories(directory);
+        this.directory = directory;
+        snapshotFile = directory.resolve("orders.snapshot");
+        this.snapshotInterval = snapshotInterval;
+        this.snapshotExecutor = snapshotExecutor;
+
+        if (loadSnapshot())
+            replayJournals();
+        writeSnapshot(snapshotBytes());
+        startGeneration(generation + 1L);
+    }
+
+    private static void startSnapshotThread(final Runnable snapshotWrite) {
+        final Thread thread = new Thread(snapshotWrite, "OrderStateJournal");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private boolean loadSnapshot() throws IOException {
+        if (!Files.exists(snapshotFile))
+            return false;
+
+        final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(snapshotFile));
+        generation = readHeader(buffer);
+        try {
+            if (generation >= 0L) {
+                readSnapshotOrders(buffer);
+                return true;
+            }
+            logger.error("Discarding order snapshot " + snapshotFile + " with invalid header!");
+        } catch (final BufferUnderflowException
+                | IndexOutOfBoundsException
+                | NegativeArraySizeException e) {
+            logger.error("Discarding corrupt order snapshot " + snapshotFile + "! " + e);
+        }
+        callReasonsByLabel.clear();
+        generation = 0L;
+        return false;
+    }
+
+    private void readSnapshotOrders(final ByteBuffer buffer) {
+        final int noOfOrders = buffer.getInt();
+        for (int i = 0; i < noOfOrders; ++i) {
+            final String label = readLabel(buffer);
+            final int noOfReasons = buffer.getInt();
+            final ArrayDeque<OrderCallReason> pendingCallReasons = new ArrayDeque<>();
+            for (int j = 0; j < noOfReasons; ++j)
+                pendingCallReasons.add(callReasons[buffer.get()]);
+            callReasonsByLabel.put(label, pendingCallReasons);
+        }
+    }
+
+    private void replayJournals() throws IOException {
+        long nextGeneration = generation + 1L;
+        while (replayJournal(nextGeneration))
+            generation = nextGeneration++;
+    }
+
+    private boolean replayJournal(final long journalGeneration) throws IOException {
+        final Path journalFile = journalFile(journalGeneration);
+        if (!Files.exists(journalFile))
+            return false;
+
+        try (FileChannel journalChannel = FileChannel.open(journalFile, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = journalChannel.map(FileChannel.MapMode.READ_ONLY,
+                                                         0L,
+                                                         journalChannel.size());
+            final long fileGeneration = readHeader(buffer);
+            if (fileGeneration < 0L)
+                logger.error("Ignoring order journal " + journalFile + " with invalid header!");
+            if (fileGeneration != journalGeneration)
+                return false;
+
+            replayRecords(buffer, (int) journalGeneration);
+        }
+        logger.debug("Replayed order journal " + journalFile + " of generation " + journalGeneration);
+        return true;
+    }
+
+    private void replayRecords(final ByteBuffer buffer,
+                               final int generationTag) {
+        try {
+            while (buffer.hasRemaining())
+                if (!replayRecord(buffer, generationTag))
+                    return;
+        } catch (final BufferUnderflowException
+                | IndexOutOfBoundsException
+                | NegativeArraySizeException e) {
+            logger.debug("Order journal replay stopped at incomplete record " + e);
+        }
+    }
+
+    private boolean replayRecord(final ByteBuffer buffer,
+                                 final int generationTag) {
+        final byte recordType = buffer.get();
+        if (recordType != callRequestRecord && recordType != orderEventRecord
+                || buffer.getInt() != generationTag)
+            return false;
+
+        final String label = readLabel(buffer);
+        if (recordType == callRequestRecord)
+            applyCallRequest(label, callReasons[buffer.get()]);
+        else
+            applyOrderEvent(label,
+                            eventTypes[buffer.get()],
+                            buffer.get() != 0);
+        return true;
+    }
+
+    public synchronized void onCallRequest(final OrderCallRequest callRequest) {
+        final String label = callRequest.order().getLabel();
+        final OrderCallReason reason = callRequest.reason();
+        final byte[] labelBytes = labelBytes(label);
+        if (labelBytes == null)
+            return;
+        applyCallRequest(label, reason);
+
+        final ByteBuffer buffer = recordBuffer(callRequestRecord, labelBytes, 1);
+        if (buffer == null)
+            return;
+        buffer.put((byte) reason.ordinal());
+        onRecordWritten();
+    }
+
+    public synchronized void onOrderEvent(final OrderEvent orderEvent) {
+        final IOrder order = orderEvent.order();
+        final String label = order.getLabel();
+        final OrderEventType type = orderEvent.type();
+        if (!orderEvent.isInternal()
+                || orderEvent.message() == null
+                || !callReasonsByLabel.containsKey(label))
+            return;
+
+        final boolean isTerminal = OrderStaticUtil.isClosed.test(order)
+                || OrderStaticUtil.isCanceled.test(order);
+        if (!isTerminal && infoEvents.contains(type))
+            return;
+        applyOrderEvent(label,
+                        type,
+                        isTerminal);
+
+        final ByteBuffer buffer = recordBuffer(orderEventRecord, labelBytes(label), 2);
+        if (buffer == null)
+            return;
+        buffer.put((byte) type.ordinal());
+        buffer.put((byte) (isTerminal ? 1 : 0));
+        onRecordWritten();
+    }
+
+    private void applyCallRequest(final String label,
+                                  final OrderCallReason reason) {
+        callReasonsByLabel
+            .computeIfAbsent(label, key -> new ArrayDeque<>())
+            .add(reason);
+    }
+
+    private void applyOrderEvent(final String label,
+                                 final OrderEventType type,
+                                 final boolean isTerminal) {
+        final ArrayDeque<OrderCallReason> pendingCallReasons = callReasonsByLabel.get(label);
+        if (pendingCallReasons == null)
+            return;
+
+        if (!isTerminal && !infoEvents.contains(type))
+            pendingCallReasons.poll();
+        if (isTerminal || pendingCallReasons.isEmpty())
+            callReasonsByLabel.remove(label);
+    }
+
+    private ByteBuffer recordBuffer(final byte recordType,
+                                    final byte[] labelBytes,
+                                    final int payloadSize) {
+        if (isStopped)
+            return null;
+
+        try {
+            if (segment.remaining() < recordStartSize + labelBytes.length + payloadSize)
+                mapSegment(writtenLength());
+        } catch (final IOException e) {
+            stopRecording("Could not write to order journal " + journalFile(generation), e);
+            return null;
+        }
+        segment.put(recordType);
+        segment.putInt((int) generation);
+        writeLabel(segment, labelBytes);
+        return segment;
+    }
+
+    private void onRecordWritten() {
+        if (++recordsSinceSnapshot < snapshotInterval || !snapshotWrite.isDone())
+            return;
+
+        recordsSinceSnapshot = 0;
+        if (snapshotWrite.isCompletedExceptionally()) {
+            writeSnapshotAsync(lastSnapshot);
+            return;
+        }
+
+        lastSnapshot = snapshotBytes();
+        writeSnapshotAsync(lastSnapshot);
+        try {
+            startGeneration(generation + 1L);
+        } catch (final IOException e) {
+            stopRecording("Could not start order journal " + journalFile(generation + 1L), e);
+        }
+    }
+
+    private void stopRecording(final String reason,
+                               final IOException e) {
+        logger.error(reason + "! Recording stopped until close. " + e.getMessage());
+        isStopped = true;
+    }
+
+    private byte[] snapshotBytes() {
+        final List<byte[]> labels = new ArrayList<>(callReasonsByLabel.size());
+        int snapshotSize = headerSize + 4;
+        for (final Map.Entry<String, ArrayDeque<OrderCallReason>> entry : callReasonsByLabel.entrySet()) {
+            final byte[] labelBytes = labelBytes(entry.getKey());
+            labels.add(labelBytes);
+            snapshotSize += 2 + labelBytes.length + 4 + entry.getValue().size();
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate(snapshotSize);
+        writeHeader(buffer, generation);
+        buffer.putInt(callReasonsByLabel.size());
+        int labelIndex = 0;
+        for (final ArrayDeque<OrderCallReason> pendingCallReasons : callReasonsByLabel.values()) {
+            writeLabel(buffer, labels.get(labelIndex++));
+            buffer.putInt(pendingCallReasons.size());
+            pendingCallReasons.forEach(reason -> buffer.put((byte) reason.ordinal()));
+        }
+        return buffer.array();
+    }
+
+    private void writeSnapshotAsync(final byte[] snapshot) {
+        snapshotWrite = CompletableFuture.runAsync(() -> {
+            try {
+                writeSnapshot(snapshot);
+            } catch (final IOException e) {
+                logger.error("Could not write order snapshot " + snapshotFile + "! " + e.getMessage());
+                throw new UncheckedIOException(e);
+            }
+        }, snapshotExecutor);
+    }
+
+    private void writeSnapshot(final byte[] snapshot) throws IOException {
+        final Path tempFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        Files.write(tempFile, snapshot);
+        Files.move(tempFile,
+                   snapshotFile,
+                   StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void startGeneration(final long nextGeneration) throws IOException {
+        final FileChannel nextChannel = FileChannel.open(journalFile(nextGeneration),
+                                                         StandardOpenOption.CREATE,
+                                                         StandardOpenOption.READ,
+                                                         StandardOpenOption.WRITE);
+        final MappedByteBuffer nextSegment;
+        try {
+            nextSegment = nextChannel.map(FileChannel.MapMode.READ_WRITE, 0L, segmentSize);
+        } catch (final IOException e) {
+            nextChannel.close();
+            throw e;
+        }
+        writeHeader(nextSegment, nextGeneration);
+
+        if (channel != null)
+            channel.close();
+        channel = nextChannel;
+        segment = nextSegment;
+        segmentStart = 0L;
+        generation = nextGeneration;
+    }
+
+    private void mapSegment(final long position) throws IOException {
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, position, segmentSize);
+        segmentStart = position;
+    }
+
+    private long writtenLength() {
+        return segmentStart + segment.position();
+    }
+
+    private Path journalFile(final long journalGeneration) {
+        return directory.resolve("orders-" + journalGeneration % 2L + ".journal");
+    }
+
+    public synchronized List<OrderCallReason> pendingCallReasons(final String label) {
+        final ArrayDeque<OrderCallReason> pendingCallReasons = callReasonsByLabel.get(label);
+        return pendingCallReasons != null
+                ? new ArrayList<>(pendingCallReasons)
+                : Collections.emptyList();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (isClosed)
+            return;
+
+        isClosed = true;
+        isStopped = true;
+        try {
+            snapshotWrite
+                .exceptionally(e -> null)
+                .join();
+            writeSnapshot(snapshotBytes());
+        } finally {
+            segment.force();
+            channel.close();
+        }
+    }
+
+    private static void writeHeader(final ByteBuffer buffer,
+                                    final long generation) {
+        buffer.putInt(magic);
+        buffer.putInt(version);
+        buffer.putLong(generation);
+    }
+
+    private static long readHeader(final ByteBuffer buffer) {
+        if (buffer.remaining() < headerSize || buffer.getInt() != magic || buffer.getInt() != version)
+            return -1L;
+        return buffer.getLong();
+    }
+
+    private static byte[] labelBytes(final String label) {
+        final byte[] labelBytes = label.getBytes(StandardCharsets.UTF_8);
+        if (labelBytes.length <= maxLabelBytes)
+            return labelBytes;
+
+        logger.error("Order label " + label + " is too long for the order journal!");
+        return null;
+    }
+
+    private static void writeLabel(final ByteBuffer buffer,
+                                   final byte[] labelBytes) {
+        buffer.putShort((short) labelBytes.length);
+        buffer.put(labelBytes);
+    }
+
+    private static String readLabel(final ByteBuffer buffer) {
+        final byte[] labelBytes = new byte[buffer.getShort()];
+        buffer.get(labelBytes);
+        return new String(labelBytes, StandardCharsets.UTF_8);
+    }
+}
@@ -79,16 +79,9 @@ public class BasicTask {
             .just(closeParams.order())
             .filter(order -> !OrderStaticUtil.isClosed.test(order))
             .flatMap(order -> evalCloseParmas(order, closeParams)
-                .andThen(orderUtilObservable(order, callReasonForClose(closeParams, order))));
-    }
-
-    private OrderCallReason callReasonForClose(final CloseParams closeParams,
-                                               final IOrder orderToClose) {
-        final double closeAmount = closeParams.partialCloseAmount();
-        final double orderAmount = orderToClose.getAmount();
-        return closeAmount > 0 && closeAmount < orderAmount
-                ? OrderCallReason.PARTIAL_CLOSE
-                : OrderCallReason.CLOSE;
+                .andThen(orderUtilObservable(order,
+                                             OrderStaticUtil.callReasonForClose(order,
+                                                                                closeParams.partialCloseAmount()))));
     }
 
     private Completable evalCloseParmas(final IOrder orderToClose,
@@ -24,28 +24,27 @@ public class BatchComposer {
     }
 
     public Function<IOrder, Observable<OrderEvent>> composeClose(final ClosePositionParams closePositionParams) {
+        final Function<IOrder, CloseParams> closeParamsFactory = closePositionParams.closeParamsFactory();
         return order -> {
-            final CloseParams closeParams = closePositionParams
-                .closeParamsFactory()
-                .apply(order);
+            final CloseParams closeParams = closeParamsFactory.apply(order);
             return taskParamsUtil.compose(basicTaskForBatch.forClose(closeParams), closeParams);
         };
     }
 
     public Function<IOrder, Observable<OrderEvent>> composeCancelSL(final MergePositionParams mergePositionParams) {
+        final Function<IOrder, ? extends TaskParamsBase> cancelSLParamsFactory =
+                mergePositionParams.cancelSLParamsFactory();
         return order -> {
-            final TaskParamsBase cancelSLParams = mergePositionParams
-                .cancelSLParamsFactory()
-                .apply(order);
+            final TaskParamsBase cancelSLParams = cancelSLParamsFactory.apply(order);
             return taskParamsUtil.compose(basicTaskForBatch.forCancelSL(order), cancelSLParams);
         };
     }
 
     public Function<IOrder, Observable<OrderEvent>> composeCancelTP(final MergePositionParams mergePositionParams) {
+        final Function<IOrder, ? extends TaskParamsBase> cancelTPParamsFactory =
+                mergePositionParams.cancelTPParamsFactory();
         return order -> {
-            final TaskParamsBase cancelTPParams = mergePositionParams
-                .cancelTPParamsFactory()
-                .apply(order);
+            final TaskParamsBase cancelTPParams = cancelTPParamsFactory.apply(order);
             return taskParamsUtil.compose(basicTaskForBatch.forCancelTP(order), cancelTPParams);
         };
     }
@@ -1,27 +1,94 @@
 package com.jforex.programming.order.task;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import java.util.Collection;
-import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 import com.dukascopy.api.IOrder;
 import com.jforex.programming.order.event.OrderEvent;
 
 import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
 
+/**
+ * Creates the observable of a batch of order tasks.
+ *
+ * A bounded merge starts at most maxConcurrency tasks at once. With a
+ * positive tasks per second limit, each admitted task additionally takes
+ * the next start slot of a pacer which is shared by all batches of this
+ * creator, so the limit holds for the task starts and not only for the
+ * hand over to the merge.
+ */
 public class BatchCreator {
 
+    private final int maxConcurrency;
+    private final long taskIntervalNanos;
+    private final Scheduler scheduler;
+    private final AtomicLong nextStartNanos = new AtomicLong(Long.MIN_VALUE);
+
+    private static final long nanosPerSecond = TimeUnit.SECONDS.toNanos(1L);
+
+    public BatchCreator(final int maxConcurrency,
+                        final long tasksPerSecond) {
+        this(maxConcurrency,
+             tasksPerSecond,
+             Schedulers.computation());
+    }
+
+    public BatchCreator(final int maxConcurrency,
+                        final long tasksPerSecond,
+                        final Scheduler scheduler) {
+        checkArgument(tasksPerSecond <= nanosPerSecond,
+                      "Tasks per second must not exceed %s but is %s",
+                      nanosPerSecond,
+                      tasksPerSecond);
+
+        this.maxConcurrency = Math.max(maxConcurrency, 1);
+        taskIntervalNanos = tasksPerSecond > 0L
+                ? nanosPerSecond / tasksPerSecond
+                : 0L;
+        this.scheduler = scheduler;
+    }
+
     public Observable<OrderEvent> create(final Collection<IOrder> orders,
                                          final BatchMode batchMode,
                                          final Function<IOrder, Observable<OrderEvent>> basicTaskFunction) {
-        final List<Observable<OrderEvent>> observables = Observable
+        final Observable<Observable<OrderEvent>> observables = Observable
             .fromIterable(orders)
-            .map(basicTaskFunction::apply)
-            .toList()
-            .blockingGet();
+            .map(basicTaskFunction::apply);
+
+        if (batchMode == BatchMode.MERGE)
+            return Observable.merge(observables);
+        return batchMode == BatchMode.CONCAT
+                ? Observable.concat(observables)
+                : Observable.merge(observables.map(this::paced), maxConcurrency);
+    }
+
+    private Observable<OrderEvent> paced(final Observable<OrderEvent> observable) {
+        if (taskIntervalNanos == 0L)
+            return observable;
+
+        return Observable.defer(() -> {
+            final long startDelay = reserveStartDelay();
+            return startDelay == 0L
+                    ? observable
+                    : observable.delaySubscription(startDelay,
+                                                   TimeUnit.NANOSECONDS,
+                                                   scheduler);
+        });
+    }
 
-        return batchMode == BatchMode.MERGE
-                ? Observable.merge(observables)
-                : Observable.concat(observables);
+    private long reserveStartDelay() {
+        while (true) {
+            final long now = scheduler.now(TimeUnit.NANOSECONDS);
+            final long nextStart = nextStartNanos.get();
+            final long start = Math.max(now, nextStart);
+            if (nextStartNanos.compareAndSet(nextStart, start + taskIntervalNanos))
+                return start - now;
+        }
     }
 }
@@ -3,5 +3,6 @@ package com.jforex.programming.order.task;
 public enum BatchMode {
 
     MERGE,
-    CONCAT
+    CONCAT,
+    BOUNDED_MERGE
 }
@@ -0,0 +1,185 @@
+package com.jforex.programming.order.task;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.jforex.programming.rx.RetryDelay;
+
+/**
+ * Account wide budget for retries of rejected order calls.
+ *
+ * Each retry takes a token from a bucket which refills at a fixed rate, so
+ * a platform hiccup can not multiply the call load by the number of
+ * rejected orders. The delay of the retry params stays the minimum delay of
+ * a retry and gets a random jitter of up to half of it on top, to spread
+ * the retries of a batch.
+ *
+ * When the reject threshold is reached within the reject window, the
+ * circuit opens and all retries are denied for the open time. Afterwards
+ * the circuit is half open: the next reject opens it again and the next
+ * successful event closes it.
+ */
+public class RetryBudget {
+
+    public enum CircuitState {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int maxTokens;
+    private final double tokensPerNano;
+    private final long maxDelayMillis;
+    private final long rejectWindowNanos;
+    private final long circuitOpenNanos;
+    private final LongSupplier nanoClock;
+    private final long[] rejectTimes;
+    private int rejectIndex;
+    private double tokens;
+    private long lastRefillTime;
+    private long circuitOpenUntil;
+    private volatile CircuitState circuitState = CircuitState.CLOSED;
+    private long grantedRetries;
+    private long deniedRetries;
+    private long rejectCount;
+    private long circuitOpenCount;
+
+    private static final Logger logger = LogManager.getLogger(RetryBudget.class);
+
+    public RetryBudget(final int maxTokens,
+                       final double tokensPerSecond,
+                       final long maxDelayMillis,
+                       final int rejectThreshold,
+                       final long rejectWindowMillis,
+                       final long circuitOpenMillis) {
+        this(maxTokens,
+             tokensPerSecond,
+             maxDelayMillis,
+             rejectThreshold,
+             rejectWindowMillis,
+             circuitOpenMillis,
+             System::nanoTime);
+    }
+
+    public RetryBudget(final int maxTokens,
+                       final double tokensPerSecond,
+                       final long maxDelayMillis,
+                       final int rejectThreshold,
+                       final long rejectWindowMillis,
+                       final long circuitOpenMillis,
+                       final LongSupplier nanoClock) {
+        this.maxTokens = maxTokens;
+        tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1L);
+        this.maxDelayMillis = maxDelayMillis;
+        rejectWindowNanos = TimeUnit.MILLISECONDS.toNanos(rejectWindowMillis);
+        circuitOpenNanos = TimeUnit.MILLISECONDS.toNanos(circuitOpenMillis);
+        this.nanoClock = nanoClock;
+        rejectTimes = new long[Math.max(rejectThreshold, 1)];
+        tokens = maxTokens;
+        lastRefillTime = nanoClock.getAsLong();
+    }
+
+    public synchronized boolean tryAcquireRetry() {
+        final long now = nanoClock.getAsLong();
+        updateCircuitState(now);
+        if (circuitState == CircuitState.OPEN) {
+            ++deniedRetries;
+            return false;
+        }
+
+        refill(now);
+        if (tokens < 1.0) {
+            ++deniedRetries;
+            return false;
+        }
+        tokens -= 1.0;
+        ++grantedRetries;
+        return true;
+    }
+
+    private void updateCircuitState(final long now) {
+        if (circuitState == CircuitState.OPEN && now - circuitOpenUntil >= 0L)
+            circuitState = CircuitState.HALF_OPEN;
+    }
+
+    private void refill(final long now) {
+        tokens = Math.min(maxTokens, tokens + (now - lastRefillTime) * tokensPerNano);
+        lastRefillTime = now;
+    }
+
+    public synchronized void onReject() {
+        final long now = nanoClock.getAsLong();
+        updateCircuitState(now);
+        ++rejectCount;
+
+        final long oldestRejectTime = rejectTimes[rejectIndex];
+        rejectTimes[rejectIndex] = now;
+        rejectIndex = (rejectIndex + 1) % rejectTimes.length;
+
+        final boolean isRejectStorm = rejectCount >= rejectTimes.length
+                && now - oldestRejectTime <= rejectWindowNanos;
+        if (circuitState == CircuitState.HALF_OPEN
+                || circuitState == CircuitState.CLOSED && isRejectStorm)
+            openCircuit(now);
+    }
+
+    private void openCircuit(final long now) {
+        circuitState = CircuitState.OPEN;
+        circuitOpenUntil = now + circuitOpenNanos;
+        ++circuitOpenCount;
+        logger.warn("Too many order call rejects, retries are suspended for "
+                + TimeUnit.NANOSECONDS.toMillis(circuitOpenNanos) + " ms!");
+    }
+
+    public void onSuccess() {
+        if (circuitState == CircuitState.CLOSED)
+            return;
+
+        synchronized (this) {
+            updateCircuitState(nanoClock.getAsLong());
+            if (circuitState == CircuitState.HALF_OPEN)
+                circuitState = CircuitState.CLOSED;
+        }
+    }
+
+    public RetryDelay backoff(final RetryDelay retryDelay) {
+        final long delayMillis = retryDelay
+            .timeUnit()
+            .toMillis(retryDelay.delay());
+        final long maxJitter = Math.min(delayMillis / 2L, Math.max(maxDelayMillis - delayMillis, 0L));
+        final long jitter = ThreadLocalRandom
+            .current()
+            .nextLong(maxJitter + 1L);
+        return new RetryDelay(delayMillis + jitter, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized CircuitState circuitState() {
+        updateCircuitState(nanoClock.getAsLong());
+        return circuitState;
+    }
+
+    public synchronized double availableTokens() {
+        refill(nanoClock.getAsLong());
+        return tokens;
+    }
+
+    public synchronized long grantedRetries() {
+        return grantedRetries;
+    }
+
+    public synchronized long deniedRetries() {
+        return deniedRetries;
+    }
+
+    public synchronized long rejectCount() {
+        return rejectCount;
+    }
+
+    public synchronized long circuitOpenCount() {
+        return circuitOpenCount;
+    }
+}
@@ -2,12 +2,16 @@ package com.jforex.programming.order.task;
 
 import java.util.Collection;
 import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 
 import com.dukascopy.api.IEngine;
 import com.dukascopy.api.IOrder;
 import com.dukascopy.api.OfferSide;
 import com.jforex.programming.misc.StrategyThreadRunner;
 import com.jforex.programming.order.OrderParams;
+import com.jforex.programming.order.call.OrderCallMetrics;
+import com.jforex.programming.order.call.OrderCallReason;
+import com.jforex.programming.order.call.OrderCallStage;
 
 import io.reactivex.Completable;
 import io.reactivex.Single;
@@ -17,84 +21,133 @@ public class TaskExecutor {
 
     private final StrategyThreadRunner strategyThreadRunner;
     private final IEngine engine;
+    private final OrderCallMetrics orderCallMetrics;
 
     public TaskExecutor(final StrategyThreadRunner strategyThreadRunner,
-                        final IEngine engine) {
+                        final IEngine engine,
+                        final OrderCallMetrics orderCallMetrics) {
         this.strategyThreadRunner = strategyThreadRunner;
         this.engine = engine;
+        this.orderCallMetrics = orderCallMetrics;
     }
 
     public Single<IOrder> submitOrder(final OrderParams orderParams) {
-        return single(() -> engine.submitOrder(orderParams.label(),
-                                               orderParams.instrument(),
-                                               orderParams.orderCommand(),
-                                               orderParams.amount(),
-                                               orderParams.price(),
-                                               orderParams.slippage(),
-                                               orderParams.stopLossPrice(),
-                                               orderParams.takeProfitPrice(),
-                                               orderParams.goodTillTime(),
-                                               orderParams.comment()));
+        final OrderCallReason callReason = orderParams.orderCommand().isConditional()
+                ? OrderCallReason.SUBMIT_CONDITIONAL
+                : OrderCallReason.SUBMIT;
+
+        return single(callReason, () -> engine.submitOrder(orderParams.label(),
+                                                           orderParams.instrument(),
+                                                           orderParams.orderCommand(),
+                                                           orderParams.amount(),
+                                                           orderParams.price(),
+                                                           orderParams.slippage(),
+                                                           orderParams.stopLossPrice(),
+                                                           orderParams.takeProfitPrice(),
+                                                           orderParams.goodTillTime(),
+                                                           orderParams.comment()));
     }
 
     public Single<IOrder> mergeOrders(final String mergeOrderLabel,
                                       final Collection<IOrder> toMergeOrders) {
-        return single(() -> engine.mergeOrders(mergeOrderLabel, toMergeOrders));
+        return single(OrderCallReason.MERGE, () -> engine.mergeOrders(mergeOrderLabel, toMergeOrders));
     }
 
     public Completable close(final IOrder order,
                              final double amount) {
-        return completable(() -> order.close(amount));
+        return completable(() -> OrderStaticUtil.callReasonForClose(order, amount),
+                           () -> order.close(amount));
     }
 
     public Completable close(final IOrder order,
                              final double amount,
                              final double price,
                              final double slippage) {
-        return completable(() -> order.close(amount,
+        return completable(() -> OrderStaticUtil.callReasonForClose(order, amount),
+                           () -> order.close(amount,
                                              price,
                                              slippage));
     }
 
     public Completable setLabel(final IOrder order,
                                 final String label) {
-        return completable(() -> order.setLabel(label));
+        return completable(OrderCallReason.CHANGE_LABEL, () -> order.setLabel(label));
     }
 
     public Completable setGoodTillTime(final IOrder order,
                                        final long newGTT) {
-        return completable(() -> order.setGoodTillTime(newGTT));
+        return completable(OrderCallReason.CHANGE_GTT, () -> order.setGoodTillTime(newGTT));
     }
 
     public Completable setRequestedAmount(final IOrder order,
                                           final double newRequestedAmount) {
-        return completable(() -> order.setRequestedAmount(newRequestedAmount));
+        return completable(OrderCallReason.CHANGE_AMOUNT, () -> order.setRequestedAmount(newRequestedAmount));
     }
 
     public Completable setOpenPrice(final IOrder order,
                                     final double newOpenPrice) {
-        return completable(() -> order.setOpenPrice(newOpenPrice));
+        return completable(OrderCallReason.CHANGE_PRICE, () -> order.setOpenPrice(newOpenPrice));
     }
 
     public Completable setStopLossPrice(final IOrder order,
                                         final double newSL,
                                         final OfferSide offerSide,
                                         final double trailingStep) {
-        return completable(() -> order.setStopLossPrice(newSL,
-                                                        offerSide,
-                                                        trailingStep));
+        return completable(OrderCallReason.CHANGE_SL, () -> order.setStopLossPrice(newSL,
+                                                                                   offerSide,
+                                                                                   trailingStep));
     }
 
     public Completable setTakeProfitPrice(final IOrder order,
                                           final double newTP) {
-        return completable(() -> order.setTakeProfitPrice(newTP));
+        return completable(OrderCallReason.CHANGE_TP, () -> order.setTakeProfitPrice(newTP));
     }
 
-    private Single<IOrder> single(final Callable<IOrder> callable) {
-        return strategyThreadRunner.execute(callable);
+    private Single<IOrder> single(final OrderCallReason callReason,
+                                  final Callable<IOrder> callable) {
+        final long issueTime = System.nanoTime();
+        return strategyThreadRunner.execute(() -> {
+            final long startTime = recordQueueTime(callReason, issueTime);
+            try {
+                return callable.call();
+            } finally {
+                recordEngineTime(callReason, startTime);
+            }
+        });
     }
 
-    private Completable completable(final Action action) {
-        return strategyThreadRunner.execute(action);
+    private Completable completable(final OrderCallReason callReason,
+                                    final Action action) {
+        return completable(() -> callReason, action);
+    }
+
+    private Completable completable(final Supplier<OrderCallReason> callReasonSupplier,
+                                    final Action action) {
+        final long issueTime = System.nanoTime();
+        return strategyThreadRunner.execute(() -> {
+            final OrderCallReason callReason = callReasonSupplier.get();
+            final long startTime = recordQueueTime(callReason, issueTime);
+            try {
+                action.run();
+            } finally {
+                recordEngineTime(callReason, startTime);
+            }
+        });
+    }
+
+    private long recordQueueTime(final OrderCallReason callReason,
+                                 final long issueTime) {
+        final long startTime = System.nanoTime();
+        orderCallMetrics.record(callReason,
+                                OrderCallStage.QUEUE,
+                                startTime - issueTime);
+        return startTime;
+    }
+
+    private void recordEngineTime(final OrderCallReason callReason,
+                                  final long startTime) {
+        orderCallMetrics.record(callReason,
+                                OrderCallStage.ENGINE,
+                                System.nanoTime() - startTime);
     }
 }
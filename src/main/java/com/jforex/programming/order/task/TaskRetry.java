@@ -27,6 +27,20 @@ public class TaskRetry {
             .retryWhen(RxUtil.retryWithDelay(retryParams, retryPredicate(retryParams)));
     }
 
+    public static Observable<OrderEvent> rejectObservable(final Observable<OrderEvent> observable,
+                                                          final RetryParams retryParams,
+                                                          final RetryBudget retryBudget) {
+        final RetryParams budgetRetryParams =
+                new RetryParams(retryParams.noOfRetries(),
+                                attempt -> retryBudget.backoff(retryParams
+                                    .delayFunction()
+                                    .apply(attempt)));
+        return observable
+            .flatMap(TaskRetry::rejectAsError)
+            .doOnNext(orderEvent -> retryBudget.onSuccess())
+            .retryWhen(RxUtil.retryWithDelay(budgetRetryParams, budgetRetryPredicate(retryParams, retryBudget)));
+    }
+
     private final static Observable<OrderEvent> rejectAsError(final OrderEvent orderEvent) {
         return rejectEvents.contains(orderEvent.type())
                 ? Observable.error(new OrderCallRejectException("Reject event", orderEvent))
@@ -37,6 +51,19 @@ public class TaskRetry {
         return (err, attempt) -> attempt <= retryParams.noOfRetries() && isRejectError(err);
     }
 
+    private static final RetryPredicate budgetRetryPredicate(final RetryParams retryParams,
+                                                             final RetryBudget retryBudget) {
+        return (err, attempt) -> {
+            if (!(err instanceof OrderCallRejectException))
+                return false;
+
+            retryBudget.onReject();
+            return attempt <= retryParams.noOfRetries()
+                    && retryBudget.tryAcquireRetry()
+                    && isRejectError(err);
+        };
+    }
+
     private static final boolean isRejectError(final Throwable error) {
         if (error instanceof OrderCallRejectException) {
             logPositionTaskRetry((OrderCallRejectException) error);
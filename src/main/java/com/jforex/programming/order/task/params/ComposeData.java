@@ -19,4 +19,10 @@ public interface ComposeData {
     public RetryParams retryParams();
 
     public Map<OrderEventType, Consumer<OrderEvent>> consumerByEventType();
+
+    public boolean hasEventConsumers();
+
+    public boolean hasCallbacks();
+
+    public void acceptEvent(OrderEvent orderEvent);
 }
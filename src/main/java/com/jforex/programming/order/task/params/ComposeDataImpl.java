@@ -1,6 +1,7 @@
 package com.jforex.programming.order.task.params;
 
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
@@ -13,11 +14,18 @@ import io.reactivex.functions.Action;
 
 public class ComposeDataImpl implements ComposeData {
 
-    private Action startAction = () -> {};
-    private Action completeAction = () -> {};
-    private Consumer<Throwable> errorConsumer = t -> {};
-    private RetryParams retryParams = new RetryParams(0, attempt -> new RetryDelay(0L, TimeUnit.MILLISECONDS));
-    private final Map<OrderEventType, Consumer<OrderEvent>> consumerByEventType = new HashMap<>();
+    private Action startAction = noAction;
+    private Action completeAction = noAction;
+    private Consumer<Throwable> errorConsumer = noErrorConsumer;
+    private RetryParams retryParams = noRetryParams;
+    private final Map<OrderEventType, Consumer<OrderEvent>> consumerByEventType = new EnumMap<>(OrderEventType.class);
+    @SuppressWarnings("unchecked")
+    private final Consumer<OrderEvent>[] consumerByOrdinal = new Consumer[OrderEventType.values().length];
+
+    private static final Action noAction = () -> {};
+    private static final Consumer<Throwable> noErrorConsumer = t -> {};
+    private static final RetryParams noRetryParams =
+            new RetryParams(0, attempt -> new RetryDelay(0L, TimeUnit.MILLISECONDS));
 
     @Override
     public Action startAction() {
@@ -57,11 +65,34 @@ public class ComposeDataImpl implements ComposeData {
 
     @Override
     public Map<OrderEventType, Consumer<OrderEvent>> consumerByEventType() {
-        return consumerByEventType;
+        return Collections.unmodifiableMap(consumerByEventType);
+    }
+
+    @Override
+    public boolean hasEventConsumers() {
+        return !consumerByEventType.isEmpty();
+    }
+
+    @Override
+    public boolean hasCallbacks() {
+        return startAction != noAction
+                || completeAction != noAction
+                || errorConsumer != noErrorConsumer
+                || hasEventConsumers();
+    }
+
+    @Override
+    public void acceptEvent(final OrderEvent orderEvent) {
+        final Consumer<OrderEvent> consumer = consumerByOrdinal[orderEvent
+            .type()
+            .ordinal()];
+        if (consumer != null)
+            consumer.accept(orderEvent);
     }
 
     public void setEventConsumer(final OrderEventType orderEventType,
                                  final Consumer<OrderEvent> consumer) {
         consumerByEventType.put(orderEventType, consumer);
+        consumerByOrdinal[orderEventType.ordinal()] = consumer;
     }
 }
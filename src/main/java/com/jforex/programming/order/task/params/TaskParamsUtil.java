@@ -1,16 +1,25 @@
 package com.jforex.programming.order.task.params;
 
-import java.util.Map;
-import java.util.function.Consumer;
+import java.util.Optional;
 
 import com.jforex.programming.order.event.OrderEvent;
-import com.jforex.programming.order.event.OrderEventType;
+import com.jforex.programming.order.task.RetryBudget;
 import com.jforex.programming.order.task.TaskRetry;
 
 import io.reactivex.Observable;
 
 public class TaskParamsUtil {
 
+    private final Optional<RetryBudget> retryBudget;
+
+    public TaskParamsUtil() {
+        retryBudget = Optional.empty();
+    }
+
+    public TaskParamsUtil(final RetryBudget retryBudget) {
+        this.retryBudget = Optional.of(retryBudget);
+    }
+
     public void composeAndSubscribe(final Observable<OrderEvent> observable,
                                     final TaskParamsBase taskParams) {
         final ComposeData composeData = taskParams.composeData();
@@ -23,31 +32,34 @@ public class TaskParamsUtil {
 
     private Observable<OrderEvent> composeEvents(final Observable<OrderEvent> observable,
                                                  final TaskParamsBase taskParams) {
-        final Map<OrderEventType, Consumer<OrderEvent>> consumerForEvent = taskParams
-            .composeData()
-            .consumerByEventType();
-        return observable.doOnNext(orderEvent -> handlerOrderEvent(orderEvent, consumerForEvent));
+        final ComposeData composeData = taskParams.composeData();
+        return composeData.hasEventConsumers()
+                ? observable.doOnNext(composeData::acceptEvent)
+                : observable;
     }
 
     private Observable<OrderEvent> composeRetry(final Observable<OrderEvent> observable,
                                                 final RetryParams retryParams) {
         final int noOfRetries = retryParams.noOfRetries();
-        return noOfRetries > 0
-                ? TaskRetry.rejectObservable(observable, retryParams)
-                : observable;
-    }
+        if (noOfRetries <= 0)
+            return observable;
 
-    private void handlerOrderEvent(final OrderEvent orderEvent,
-                                   final Map<OrderEventType, Consumer<OrderEvent>> consumerForEvent) {
-        final OrderEventType type = orderEvent.type();
-        if (consumerForEvent.containsKey(type))
-            consumerForEvent.get(type).accept(orderEvent);
+        return retryBudget.isPresent()
+                ? TaskRetry.rejectObservable(observable,
+                                             retryParams,
+                                             retryBudget.get())
+                : TaskRetry.rejectObservable(observable, retryParams);
     }
 
     public Observable<OrderEvent> compose(final Observable<OrderEvent> observable,
                                           final TaskParamsBase taskParams) {
         final ComposeData composeData = taskParams.composeData();
-        return composeRetry(composeEvents(observable, taskParams), composeData.retryParams())
+        final Observable<OrderEvent> retryObservable = composeRetry(composeEvents(observable, taskParams),
+                                                                    composeData.retryParams());
+        if (!composeData.hasCallbacks())
+            return retryObservable;
+
+        return retryObservable
             .doOnSubscribe(d -> composeData.startAction().run())
             .doOnComplete(composeData.completeAction()::run)
             .doOnError(composeData.errorConsumer()::accept);
@@ -5,6 +5,8 @@ import static com.jforex.programming.order.OrderStaticUtil.isClosed;
 import static com.jforex.programming.order.event.OrderEventTypeSets.createEvents;
 import static java.util.stream.Collectors.toSet;
 
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.Predicate;
@@ -13,49 +15,147 @@ import com.dukascopy.api.IOrder;
 import com.dukascopy.api.Instrument;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.MapMaker;
+import com.jforex.programming.order.OrderStaticUtil;
 import com.jforex.programming.order.event.OrderEvent;
 
 import io.reactivex.Observable;
 
+/**
+ * Keeps the orders of one instrument together with aggregates of them.
+ *
+ * Every event of a position order refreshes the cached state and signed
+ * amount of the order, so the filled and opened orders and the signed
+ * exposure are read without iterating all orders. The order counts by state
+ * are kept on the same transitions. Since an entry of the weak order map may
+ * vanish without an event, each entry weakly references its order on a
+ * reference queue, and the count of a collected order is taken back on the
+ * next event or count. The profit and loss still has to be read from the
+ * filled orders, since it changes with each tick.
+ */
 public class Position implements PositionOrders {
 
     private final Instrument instrument;
-    private final ConcurrentMap<IOrder, Boolean> orderRepository =
+    private final ConcurrentMap<IOrder, OrderEntry> orderRepository =
             new MapMaker().weakKeys().makeMap();
+    private final ConcurrentMap<IOrder, Boolean> filledOrders =
+            new MapMaker().weakKeys().makeMap();
+    private final ConcurrentMap<IOrder, Boolean> openedOrders =
+            new MapMaker().weakKeys().makeMap();
+    private final ReferenceQueue<IOrder> collectedOrders = new ReferenceQueue<>();
+    private final int[] countByState = new int[IOrder.State.values().length];
+    private volatile double signedExposure;
+
+    private static final class OrderEntry extends WeakReference<IOrder> {
+
+        private IOrder.State state;
+        private double signedAmount;
+
+        private OrderEntry(final IOrder order,
+                           final ReferenceQueue<IOrder> collectedOrders) {
+            super(order, collectedOrders);
+        }
+    }
 
     public Position(final Instrument instrument,
                     final Observable<OrderEvent> orderEventObservable) {
         this.instrument = instrument;
 
-        observeClosedOrdersForRemoval(orderEventObservable);
-        observeCreatedOrdersForInsertion(orderEventObservable);
+        orderEventObservable.subscribe(this::onOrderEvent);
     }
 
-    private void observeClosedOrdersForRemoval(final Observable<OrderEvent> orderEventObservable) {
-        orderEventObservable
-            .map(OrderEvent::order)
-            .filter(this::contains)
-            .filter(isClosed.or(isCanceled)::test)
-            .doOnNext(this::removeOrder)
-            .subscribe();
+    private synchronized void onOrderEvent(final OrderEvent orderEvent) {
+        expungeCollectedOrders();
+        final IOrder order = orderEvent.order();
+        final OrderEntry orderEntry = orderRepository.get(order);
+        if (orderEntry != null) {
+            if (isClosed.or(isCanceled).test(order))
+                removeOrder(order, orderEntry);
+            else
+                updateOrder(order, orderEntry);
+        } else if (isCreatedOrder(orderEvent))
+            addOrder(order);
     }
 
-    private void observeCreatedOrdersForInsertion(final Observable<OrderEvent> orderEventObservable) {
-        orderEventObservable
-            .filter(orderEvent -> orderEvent.order().getInstrument() == instrument)
-            .filter(orderEvent -> createEvents.contains(orderEvent.type()))
-            .filter(OrderEvent::isInternal)
-            .map(OrderEvent::order)
-            .doOnNext(this::addOrder)
-            .subscribe();
+    private boolean isCreatedOrder(final OrderEvent orderEvent) {
+        return orderEvent.isInternal()
+                && createEvents.contains(orderEvent.type())
+                && orderEvent.order().getInstrument() == instrument;
     }
 
-    private synchronized void removeOrder(final IOrder order) {
+    private void removeOrder(final IOrder order,
+                             final OrderEntry orderEntry) {
         orderRepository.remove(order);
+        orderEntry.clear();
+        removeFromAggregates(order);
+        countState(orderEntry.state, -1);
+        if (orderEntry.state == IOrder.State.FILLED)
+            updateSignedExposure();
+    }
+
+    private void addOrder(final IOrder order) {
+        final OrderEntry orderEntry = new OrderEntry(order, collectedOrders);
+        orderRepository.put(order, orderEntry);
+        addToAggregates(order, orderEntry);
+        if (orderEntry.state == IOrder.State.FILLED)
+            updateSignedExposure();
+    }
+
+    private void updateOrder(final IOrder order,
+                             final OrderEntry orderEntry) {
+        final boolean wasFilled = orderEntry.state == IOrder.State.FILLED;
+        final double oldSignedAmount = orderEntry.signedAmount;
+
+        removeFromAggregates(order);
+        addToAggregates(order, orderEntry);
+
+        final boolean isFilled = orderEntry.state == IOrder.State.FILLED;
+        if (wasFilled != isFilled || isFilled && oldSignedAmount != orderEntry.signedAmount)
+            updateSignedExposure();
+    }
+
+    private void addToAggregates(final IOrder order,
+                                 final OrderEntry orderEntry) {
+        countState(orderEntry.state, -1);
+        orderEntry.state = order.getState();
+        orderEntry.signedAmount = OrderStaticUtil.signedAmount(order);
+        countState(orderEntry.state, 1);
+
+        if (orderEntry.state == IOrder.State.FILLED)
+            filledOrders.put(order, true);
+        else if (orderEntry.state == IOrder.State.OPENED)
+            openedOrders.put(order, true);
     }
 
-    private synchronized void addOrder(final IOrder order) {
-        orderRepository.put(order, true);
+    private void removeFromAggregates(final IOrder order) {
+        filledOrders.remove(order);
+        openedOrders.remove(order);
+    }
+
+    private void countState(final IOrder.State state,
+                            final int delta) {
+        if (state != null)
+            countByState[state.ordinal()] += delta;
+    }
+
+    private void expungeCollectedOrders() {
+        boolean isFilledOrderCollected = false;
+        OrderEntry orderEntry;
+        while ((orderEntry = (OrderEntry) collectedOrders.poll()) != null) {
+            countState(orderEntry.state, -1);
+            isFilledOrderCollected |= orderEntry.state == IOrder.State.FILLED;
+        }
+        if (isFilledOrderCollected)
+            updateSignedExposure();
+    }
+
+    private void updateSignedExposure() {
+        double exposure = 0.0;
+        for (final IOrder filledOrder : filledOrders.keySet()) {
+            final OrderEntry orderEntry = orderRepository.get(filledOrder);
+            if (orderEntry != null)
+                exposure += orderEntry.signedAmount;
+        }
+        signedExposure = exposure;
     }
 
     @Override
@@ -87,6 +187,57 @@ public class Position implements PositionOrders {
             .collect(toSet());
     }
 
+    @Override
+    public PositionDirection direction() {
+        return PositionUtil.directionForSignedAmount(signedExposure);
+    }
+
+    @Override
+    public double signedExposure() {
+        return signedExposure;
+    }
+
+    @Override
+    public double plInAccountCurrency() {
+        double plInAccountCurrency = 0.0;
+        for (final IOrder filledOrder : filledOrders.keySet())
+            plInAccountCurrency += filledOrder.getProfitLossInAccountCurrency();
+        return plInAccountCurrency;
+    }
+
+    @Override
+    public double plInPips() {
+        double plInPips = 0.0;
+        for (final IOrder filledOrder : filledOrders.keySet())
+            plInPips += filledOrder.getProfitLossInPips();
+        return plInPips;
+    }
+
+    @Override
+    public Set<IOrder> filled() {
+        return ImmutableSet.copyOf(filledOrders.keySet());
+    }
+
+    @Override
+    public Set<IOrder> opened() {
+        return ImmutableSet.copyOf(openedOrders.keySet());
+    }
+
+    @Override
+    public Set<IOrder> filledOrOpened() {
+        return ImmutableSet
+            .<IOrder> builder()
+            .addAll(filledOrders.keySet())
+            .addAll(openedOrders.keySet())
+            .build();
+    }
+
+    @Override
+    public synchronized int count(final IOrder.State state) {
+        expungeCollectedOrders();
+        return countByState[state.ordinal()];
+    }
+
     @Override
     public String toString() {
         return "Position for " + instrument + " contains " + size() + " orders: \r\n"
@@ -6,16 +6,30 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import com.dukascopy.api.Instrument;
 import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.rx.JFHotPublisher;
 
 import io.reactivex.Observable;
 
+/**
+ * Creates the positions and routes each order event by its instrument to
+ * the one matching position, so the event cost does not grow with the
+ * number of positions.
+ */
 public class PositionFactory {
 
-    private final Observable<OrderEvent> orderEventObservable;
     private final Map<Instrument, Position> positionByInstrument = new ConcurrentHashMap<>();
+    private final Map<Instrument, JFHotPublisher<OrderEvent>> publisherByInstrument = new ConcurrentHashMap<>();
 
     public PositionFactory(final Observable<OrderEvent> orderEventObservable) {
-        this.orderEventObservable = orderEventObservable;
+        orderEventObservable.subscribe(this::routeOrderEvent);
+    }
+
+    private void routeOrderEvent(final OrderEvent orderEvent) {
+        final JFHotPublisher<OrderEvent> publisher = publisherByInstrument.get(orderEvent
+            .order()
+            .getInstrument());
+        if (publisher != null)
+            publisher.onNext(orderEvent);
     }
 
     public Collection<Position> all() {
@@ -27,6 +41,9 @@ public class PositionFactory {
     }
 
     private final Position createNew(final Instrument instrument) {
-        return new Position(instrument, orderEventObservable);
+        final JFHotPublisher<OrderEvent> publisher = new JFHotPublisher<>();
+        final Position position = new Position(instrument, publisher.observable());
+        publisherByInstrument.put(instrument, publisher);
+        return position;
     }
 }
@@ -58,4 +58,8 @@ public interface PositionOrders {
     default Set<IOrder> filledOrOpened() {
         return filter(isFilled.or(isOpened));
     }
+
+    default int count(final IOrder.State state) {
+        return filter(order -> order.getState() == state).size();
+    }
 }
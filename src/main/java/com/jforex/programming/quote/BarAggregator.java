@@ -0,0 +1,150 @@
+package com.jforex.programming.quote;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.dukascopy.api.ITick;
+import com.dukascopy.api.Instrument;
+import com.dukascopy.api.OfferSide;
+import com.dukascopy.api.Period;
+
+import io.reactivex.Observable;
+
+/**
+ * Builds OHLCV bars locally from the tick stream.
+ *
+ * Bars are aligned to UTC period boundaries and are emitted when the first
+ * tick of the next bar arrives, so a bar without a following tick is not
+ * completed. Only fixed length periods up to one day are supported.
+ */
+public class BarAggregator {
+
+    private final Consumer<BarQuote> barQuoteConsumer;
+    private final AtomicReferenceArray<List<BarAggregation>> aggregationsByInstrument =
+            new AtomicReferenceArray<>(Instrument.values().length);
+
+    private static final long maxInterval = 24L * 60L * 60L * 1000L;
+    private static final Logger logger = LogManager.getLogger(BarAggregator.class);
+
+    public BarAggregator(final Observable<TickQuote> tickQuoteObservable,
+                         final Consumer<BarQuote> barQuoteConsumer) {
+        this.barQuoteConsumer = barQuoteConsumer;
+
+        tickQuoteObservable.subscribe(this::onTickQuote);
+    }
+
+    public synchronized void register(final BarParams barParams) {
+        checkNotNull(barParams);
+
+        final long interval = barParams
+            .period()
+            .getInterval();
+        if (!canAggregate(barParams.period()))
+            throw new QuoteException("Period " + barParams.period() + " cannot be aggregated from ticks!");
+
+        final int ordinal = barParams
+            .instrument()
+            .ordinal();
+        List<BarAggregation> aggregations = aggregationsByInstrument.get(ordinal);
+        if (aggregations == null) {
+            aggregations = new CopyOnWriteArrayList<>();
+            aggregationsByInstrument.set(ordinal, aggregations);
+        }
+        for (final BarAggregation aggregation : aggregations)
+            if (aggregation.barParams.equals(barParams))
+                return;
+
+        logger.debug("Aggregating bars from ticks for " + barParams);
+        aggregations.add(new BarAggregation(barParams, interval));
+    }
+
+    public static boolean canAggregate(final Period period) {
+        final long interval = period.getInterval();
+        return interval > 0L && interval <= maxInterval;
+    }
+
+    private final void onTickQuote(final TickQuote tickQuote) {
+        final List<BarAggregation> aggregations = aggregationsByInstrument.get(tickQuote
+            .instrument()
+            .ordinal());
+        if (aggregations == null)
+            return;
+
+        final ITick tick = tickQuote.tick();
+        for (final BarAggregation aggregation : aggregations)
+            aggregation.onTick(tick);
+    }
+
+    private final class BarAggregation {
+
+        private final BarParams barParams;
+        private final long interval;
+        private final boolean isBidSide;
+        private boolean hasBar;
+        private long barStart;
+        private double open;
+        private double high;
+        private double low;
+        private double close;
+        private double volume;
+
+        private BarAggregation(final BarParams barParams,
+                               final long interval) {
+            this.barParams = barParams;
+            this.interval = interval;
+            isBidSide = barParams.offerSide() == OfferSide.BID;
+        }
+
+        private void onTick(final ITick tick) {
+            final long time = tick.getTime();
+            final double price = isBidSide
+                    ? tick.getBid()
+                    : tick.getAsk();
+            final double tickVolume = isBidSide
+                    ? tick.getBidVolume()
+                    : tick.getAskVolume();
+
+            if (hasBar && time < barStart + interval) {
+                high = Math.max(high, price);
+                low = Math.min(low, price);
+                close = price;
+                volume += tickVolume;
+                return;
+            }
+
+            if (hasBar)
+                barQuoteConsumer.accept(new BarQuote(completedBar(), barParams));
+            startBar(time - Math.floorMod(time, interval),
+                     price,
+                     tickVolume);
+        }
+
+        private AggregatedBar completedBar() {
+            return new AggregatedBar(barStart,
+                                     open,
+                                     high,
+                                     low,
+                                     close,
+                                     volume);
+        }
+
+        private void startBar(final long barStart,
+                              final double price,
+                              final double tickVolume) {
+            this.barStart = barStart;
+            open = price;
+            high = price;
+            low = price;
+            close = price;
+            volume = tickVolume;
+            hasBar = true;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.jforex.programming.quote;
+
+import com.dukascopy.api.Instrument;
+import com.dukascopy.api.OfferSide;
+
+final class BarParamsIndex {
+
+    private BarParamsIndex() {
+    }
+
+    private static final int noOfOfferSides = OfferSide.values().length;
+
+    static final int noOfSlotsPerPeriod = Instrument.values().length * noOfOfferSides;
+
+    static final int slotIndex(final BarParams barParams) {
+        return barParams.instrument().ordinal() * noOfOfferSides + barParams.offerSide().ordinal();
+    }
+}
@@ -14,6 +14,7 @@ public class BarQuoteProvider {
     private final QuoteUtil quoteUtil;
     private final Observable<BarQuote> barQuoteObservable;
     private final BarQuoteRepository barQuoteRepository;
+    private final BarQuoteRouter barQuoteRouter;
 
     public BarQuoteProvider(final QuoteUtil quoteUtil,
                             final Observable<BarQuote> barQuoteObservable,
@@ -21,6 +22,7 @@ public class BarQuoteProvider {
         this.quoteUtil = quoteUtil;
         this.barQuoteObservable = barQuoteObservable;
         this.barQuoteRepository = barQuoteRepository;
+        barQuoteRouter = new BarQuoteRouter(barQuoteObservable);
     }
 
     public IBar bar(final BarParams barParams) {
@@ -34,19 +36,17 @@ public class BarQuoteProvider {
     public Observable<BarQuote> observableForParamsList(final List<BarParams> barParamsList) {
         checkNotNull(barParamsList);
 
-        return Observable.merge(Observable
+        barParamsList.forEach(this::initCustomPeriodFeed);
+        return Observable
             .fromIterable(barParamsList)
-            .map(this::observableForParams)
-            .toList()
-            .blockingGet());
+            .flatMap(barQuoteRouter::observableForParams);
     }
 
-    private final Observable<BarQuote> observableForParams(final BarParams barParams) {
+    private final void initCustomPeriodFeed(final BarParams barParams) {
         checkNotNull(barParams);
 
         if (barParams.period().name() == null)
             quoteUtil.initBarsFeed(barParams);
-        return barQuoteObservable.filter(barQuote -> barQuote.barParams().equals(barParams));
     }
 
     public Observable<BarQuote> observable() {
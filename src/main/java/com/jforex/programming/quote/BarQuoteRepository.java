@@ -1,11 +1,11 @@
 package com.jforex.programming.quote;
 
-import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-
-import org.apache.commons.collections4.keyvalue.MultiKey;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import com.dukascopy.api.IBar;
+import com.dukascopy.api.Period;
 import com.jforex.programming.misc.HistoryUtil;
 
 import io.reactivex.Observable;
@@ -13,7 +13,8 @@ import io.reactivex.Observable;
 public class BarQuoteRepository {
 
     private final HistoryUtil historyUtil;
-    private final Map<MultiKey<Object>, BarQuote> barQuotes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Period, AtomicReferenceArray<BarQuote>> barQuotesByPeriod =
+            new ConcurrentHashMap<>();
 
     public BarQuoteRepository(final Observable<BarQuote> barQuoteObservable,
                               final HistoryUtil historyUtil) {
@@ -23,23 +24,27 @@ public class BarQuoteRepository {
     }
 
     private final void onBarQuote(final BarQuote barQuote) {
-        final MultiKey<Object> quoteKey = quoteKey(barQuote.barParams());
-        barQuotes.put(quoteKey, barQuote);
-    }
-
-    private final MultiKey<Object> quoteKey(final BarParams barParams) {
-        return new MultiKey<Object>(barParams.instrument(),
-                                    barParams.period(),
-                                    barParams.offerSide());
+        final BarParams barParams = barQuote.barParams();
+        barQuotesByPeriod
+            .computeIfAbsent(barParams.period(),
+                             period -> new AtomicReferenceArray<>(BarParamsIndex.noOfSlotsPerPeriod))
+            .set(BarParamsIndex.slotIndex(barParams), barQuote);
     }
 
     public BarQuote get(final BarParams barParams) {
-        final MultiKey<Object> quoteKey = quoteKey(barParams);
-        return barQuotes.containsKey(quoteKey)
-                ? barQuotes.get(quoteKey)
+        final BarQuote barQuote = quoteFromIndex(barParams);
+        return barQuote != null
+                ? barQuote
                 : quoteFromHistory(barParams);
     }
 
+    private final BarQuote quoteFromIndex(final BarParams barParams) {
+        final AtomicReferenceArray<BarQuote> barQuotes = barQuotesByPeriod.get(barParams.period());
+        return barQuotes != null
+                ? barQuotes.get(BarParamsIndex.slotIndex(barParams))
+                : null;
+    }
+
     private final BarQuote quoteFromHistory(final BarParams barParams) {
         final IBar historyBar = historyUtil
             .latestBarObservable(barParams)
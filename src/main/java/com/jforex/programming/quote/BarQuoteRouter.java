@@ -0,0 +1,48 @@
+package com.jforex.programming.quote;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.dukascopy.api.Period;
+import com.jforex.programming.rx.JFHotPublisher;
+
+import io.reactivex.Observable;
+
+public class BarQuoteRouter {
+
+    private final ConcurrentMap<Period, AtomicReferenceArray<JFHotPublisher<BarQuote>>> publishersByPeriod =
+            new ConcurrentHashMap<>();
+
+    public BarQuoteRouter(final Observable<BarQuote> barQuoteObservable) {
+        barQuoteObservable.subscribe(this::onBarQuote);
+    }
+
+    private final void onBarQuote(final BarQuote barQuote) {
+        final BarParams barParams = barQuote.barParams();
+        final AtomicReferenceArray<JFHotPublisher<BarQuote>> publishers = publishersByPeriod.get(barParams.period());
+        if (publishers == null)
+            return;
+
+        final JFHotPublisher<BarQuote> publisher = publishers.get(BarParamsIndex.slotIndex(barParams));
+        if (publisher != null)
+            publisher.onNext(barQuote);
+    }
+
+    public Observable<BarQuote> observableForParams(final BarParams barParams) {
+        return publisherFor(barParams).observable();
+    }
+
+    private final JFHotPublisher<BarQuote> publisherFor(final BarParams barParams) {
+        final AtomicReferenceArray<JFHotPublisher<BarQuote>> publishers = publishersByPeriod
+            .computeIfAbsent(barParams.period(),
+                             period -> new AtomicReferenceArray<>(BarParamsIndex.noOfSlotsPerPeriod));
+        final int slotIndex = BarParamsIndex.slotIndex(barParams);
+        final JFHotPublisher<BarQuote> publisher = publishers.get(slotIndex);
+        if (publisher != null)
+            return publisher;
+
+        publishers.compareAndSet(slotIndex, null, new JFHotPublisher<>());
+        return publishers.get(slotIndex);
+    }
+}
@@ -0,0 +1,164 @@
+package com.jforex.programming.quote;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.dukascopy.api.IBar;
+import com.dukascopy.api.ITick;
+import com.dukascopy.api.Instrument;
+import com.dukascopy.api.OfferSide;
+import com.dukascopy.api.Period;
+import com.dukascopy.api.Unit;
+
+/**
+ * Binary layout of recorded quote files.
+ *
+ * A file starts with a magic number and a version, followed by records
+ * which each start with a one byte record type. All quote times are epoch
+ * millis and files are split by UTC day.
+ */
+final class QuoteRecordFormat {
+
+    private QuoteRecordFormat() {
+    }
+
+    static final int magic = 0x4A465152;
+    static final int version = 1;
+    static final int headerSize = 8;
+
+    static final byte tickRecord = 1;
+    static final byte barRecord = 2;
+    static final int tickRecordSize = 1 + 2 + 8 + 4 * 8;
+    static final int barRecordSize = 1 + 2 + 1 + 1 + 4 + 8 + 5 * 8;
+    static final int maxRecordSize = Math.max(tickRecordSize, barRecordSize);
+
+    private static final Instrument[] instruments = Instrument.values();
+    private static final OfferSide[] offerSides = OfferSide.values();
+    private static final Unit[] units = Unit.values();
+    private static final Map<Long, Period> periodByKey = new HashMap<>();
+
+    static final String fileName(final long time) {
+        final LocalDate day = Instant
+            .ofEpochMilli(time)
+            .atZone(ZoneOffset.UTC)
+            .toLocalDate();
+        return "quotes_" + day + ".bin";
+    }
+
+    static final long dayOf(final long time) {
+        return Math.floorDiv(time, 24L * 60L * 60L * 1000L);
+    }
+
+    static final void writeHeader(final ByteBuffer buffer) {
+        buffer.putInt(magic);
+        buffer.putInt(version);
+    }
+
+    static final boolean isValidHeader(final ByteBuffer buffer) {
+        return buffer.remaining() >= headerSize
+                && buffer.getInt() == magic
+                && buffer.getInt() == version;
+    }
+
+    static final void readHeader(final ByteBuffer buffer) {
+        if (buffer.remaining() < headerSize || buffer.getInt() != magic)
+            throw new QuoteException("Invalid quote record file header!");
+        final int fileVersion = buffer.getInt();
+        if (fileVersion != version)
+            throw new QuoteException("Unsupported quote record file version " + fileVersion + "!");
+    }
+
+    static final int endOfRecords(final ByteBuffer buffer) {
+        while (buffer.remaining() > 0) {
+            final int recordStart = buffer.position();
+            final byte recordType = buffer.get();
+            final int recordSize = recordSize(recordType);
+            if (recordSize == 0 || buffer.remaining() < recordSize - 1)
+                return recordStart;
+            buffer.position(recordStart + recordSize);
+        }
+        return buffer.position();
+    }
+
+    static final int recordSize(final byte recordType) {
+        if (recordType == tickRecord)
+            return tickRecordSize;
+        return recordType == barRecord
+                ? barRecordSize
+                : 0;
+    }
+
+    static final void writeTick(final ByteBuffer buffer,
+                                final TickQuote tickQuote) {
+        final ITick tick = tickQuote.tick();
+        buffer.put(tickRecord);
+        buffer.putShort((short) tickQuote.instrument().ordinal());
+        buffer.putLong(tick.getTime());
+        buffer.putDouble(tick.getBid());
+        buffer.putDouble(tick.getAsk());
+        buffer.putDouble(tick.getBidVolume());
+        buffer.putDouble(tick.getAskVolume());
+    }
+
+    static final TickQuote readTick(final ByteBuffer buffer) {
+        final Instrument instrument = instruments[buffer.getShort()];
+        final ReplayTick tick = new ReplayTick(buffer.getLong(),
+                                               buffer.getDouble(),
+                                               buffer.getDouble(),
+                                               buffer.getDouble(),
+                                               buffer.getDouble());
+        return new TickQuote(instrument, tick);
+    }
+
+    static final void writeBar(final ByteBuffer buffer,
+                               final BarQuote barQuote) {
+        final IBar bar = barQuote.bar();
+        final Period period = barQuote.period();
+        buffer.put(barRecord);
+        buffer.putShort((short) barQuote.instrument().ordinal());
+        buffer.put((byte) barQuote.offerSide().ordinal());
+        buffer.put((byte) period.getUnit().ordinal());
+        buffer.putInt(period.getNumOfUnits());
+        buffer.putLong(bar.getTime());
+        buffer.putDouble(bar.getOpen());
+        buffer.putDouble(bar.getHigh());
+        buffer.putDouble(bar.getLow());
+        buffer.putDouble(bar.getClose());
+        buffer.putDouble(bar.getVolume());
+    }
+
+    static final BarQuote readBar(final ByteBuffer buffer) {
+        final Instrument instrument = instruments[buffer.getShort()];
+        final OfferSide offerSide = offerSides[buffer.get()];
+        final Period period = periodFor(units[buffer.get()], buffer.getInt());
+        final AggregatedBar bar = new AggregatedBar(buffer.getLong(),
+                                                    buffer.getDouble(),
+                                                    buffer.getDouble(),
+                                                    buffer.getDouble(),
+                                                    buffer.getDouble(),
+                                                    buffer.getDouble());
+        final BarParams barParams = BarParams
+            .forInstrument(instrument)
+            .period(period)
+            .offerSide(offerSide);
+        return new BarQuote(bar, barParams);
+    }
+
+    private static final synchronized Period periodFor(final Unit unit,
+                                                       final int numOfUnits) {
+        final long key = ((long) unit.ordinal() << 32) | (numOfUnits & 0xFFFFFFFFL);
+        return periodByKey.computeIfAbsent(key, k -> resolvePeriod(unit, numOfUnits));
+    }
+
+    private static final Period resolvePeriod(final Unit unit,
+                                              final int numOfUnits) {
+        for (final Period period : Period.values())
+            if (period.getUnit() == unit && period.getNumOfUnits() == numOfUnits)
+                return period;
+        return Period.createCustomPeriod(unit, numOfUnits);
+    }
+}
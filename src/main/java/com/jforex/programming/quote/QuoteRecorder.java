@@ -0,0 +1,172 @@
+package com.jforex.programming.quote;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.reactivex.Observable;
+import io.reactivex.disposables.CompositeDisposable;
+
+/**
+ * Appends all quotes of the given observables to memory mapped files.
+ *
+ * There is one file per UTC day in the given directory. The file is mapped
+ * in segments and is never truncated, since a mapped file can not be
+ * truncated on every platform. The zero padding of the last segment ends
+ * the records instead. An existing file of the day is appended to if its
+ * header is valid, otherwise it is moved aside. A quote with a time before
+ * the current day, like a daily bar, goes into the current file.
+ */
+public class QuoteRecorder implements Closeable {
+
+    private final Path directory;
+    private final long segmentSize;
+    private final CompositeDisposable subscriptions = new CompositeDisposable();
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long segmentStart;
+    private long currentDay = Long.MIN_VALUE;
+    private boolean isClosed;
+
+    private static final long defaultSegmentSize = 64L * 1024L * 1024L;
+    private static final Logger logger = LogManager.getLogger(QuoteRecorder.class);
+
+    public QuoteRecorder(final Path directory,
+                         final Observable<TickQuote> tickQuoteObservable,
+                         final Observable<BarQuote> barQuoteObservable) throws IOException {
+        this(directory,
+             tickQuoteObservable,
+             barQuoteObservable,
+             defaultSegmentSize);
+    }
+
+    public QuoteRecorder(final Path directory,
+                         final Observable<TickQuote> tickQuoteObservable,
+                         final Observable<BarQuote> barQuoteObservable,
+                         final long segmentSize) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+
+        subscriptions.add(tickQuoteObservable.subscribe(this::record));
+        subscriptions.add(barQuoteObservable.subscribe(this::record));
+    }
+
+    public synchronized void record(final TickQuote tickQuote) {
+        final ByteBuffer buffer = bufferFor(tickQuote.tick().getTime());
+        if (buffer != null)
+            QuoteRecordFormat.writeTick(buffer, tickQuote);
+    }
+
+    public synchronized void record(final BarQuote barQuote) {
+        final ByteBuffer buffer = bufferFor(barQuote.bar().getTime());
+        if (buffer != null)
+            QuoteRecordFormat.writeBar(buffer, barQuote);
+    }
+
+    private ByteBuffer bufferFor(final long time) {
+        if (isClosed)
+            return null;
+
+        try {
+            final long day = QuoteRecordFormat.dayOf(time);
+            if (day > currentDay)
+                openDayFile(day, time);
+            else if (segment.remaining() < QuoteRecordFormat.maxRecordSize)
+                mapSegment(writtenLength());
+            return segment;
+        } catch (final IOException e) {
+            logger.error("Could not record quote to " + directory + "! " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void openDayFile(final long day,
+                             final long time) throws IOException {
+        closeDayFile();
+
+        final Path file = directory.resolve(QuoteRecordFormat.fileName(time));
+        if (Files.exists(file) && Files.size(file) > 0L && !hasValidHeader(file))
+            moveInvalidFile(file);
+        channel = FileChannel.open(file,
+                                   StandardOpenOption.CREATE,
+                                   StandardOpenOption.READ,
+                                   StandardOpenOption.WRITE);
+        currentDay = day;
+
+        final long fileSize = channel.size();
+        if (fileSize == 0L) {
+            mapSegment(0L);
+            QuoteRecordFormat.writeHeader(segment);
+        } else
+            mapSegment(endOfExistingRecords(fileSize));
+        logger.debug("Recording quotes to " + file);
+    }
+
+    private boolean hasValidHeader(final Path file) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(QuoteRecordFormat.headerSize);
+        try (final FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            fileChannel.read(header, 0L);
+        }
+        header.flip();
+        return QuoteRecordFormat.isValidHeader(header);
+    }
+
+    private void moveInvalidFile(final Path file) throws IOException {
+        final Path invalidFile = file.resolveSibling(file.getFileName() + ".invalid");
+        logger.error("Quote record file " + file + " has an invalid header, moving it to " + invalidFile + "!");
+        Files.move(file,
+                   invalidFile,
+                   StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private long endOfExistingRecords(final long fileSize) throws IOException {
+        long position = QuoteRecordFormat.headerSize;
+        while (position < fileSize) {
+            final long chunkSize = Math.min(segmentSize, fileSize - position);
+            final int chunkEnd = QuoteRecordFormat.endOfRecords(channel.map(FileChannel.MapMode.READ_ONLY,
+                                                                            position,
+                                                                            chunkSize));
+            position += chunkEnd;
+            if (chunkEnd == 0 || chunkSize - chunkEnd >= QuoteRecordFormat.maxRecordSize)
+                break;
+        }
+        return position;
+    }
+
+    private void mapSegment(final long position) throws IOException {
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, position, segmentSize);
+        segmentStart = position;
+    }
+
+    private long writtenLength() {
+        return segmentStart + segment.position();
+    }
+
+    private void closeDayFile() throws IOException {
+        if (channel == null)
+            return;
+
+        segment.force();
+        channel.close();
+        channel = null;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (isClosed)
+            return;
+
+        isClosed = true;
+        subscriptions.dispose();
+        closeDayFile();
+    }
+}
@@ -0,0 +1,120 @@
+package com.jforex.programming.quote;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.jforex.programming.strategy.QuoteUtil;
+
+import io.reactivex.Completable;
+import io.reactivex.Observable;
+
+/**
+ * Feeds quotes of files written by {@link QuoteRecorder} into
+ * {@link QuoteUtil}.
+ *
+ * With {@link ReplayMode#WALL_CLOCK} the replay waits between quotes as long
+ * as the recorded quote times differ.
+ */
+public class QuoteReplayer {
+
+    private final QuoteUtil quoteUtil;
+
+    private static final long chunkSize = 64L * 1024L * 1024L;
+
+    public QuoteReplayer(final QuoteUtil quoteUtil) {
+        this.quoteUtil = quoteUtil;
+    }
+
+    public Completable replay(final Path file,
+                              final ReplayMode replayMode) {
+        return Completable.fromAction(() -> replayFile(file, replayMode));
+    }
+
+    public Completable replay(final List<Path> files,
+                              final ReplayMode replayMode) {
+        return Observable
+            .fromIterable(files)
+            .concatMapCompletable(file -> replay(file, replayMode));
+    }
+
+    private void replayFile(final Path file,
+                            final ReplayMode replayMode) throws IOException, InterruptedException {
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long fileSize = channel.size();
+            final ReplayClock replayClock = new ReplayClock(replayMode);
+            long position = 0L;
+            MappedByteBuffer buffer = map(channel, position, fileSize);
+            QuoteRecordFormat.readHeader(buffer);
+
+            while (buffer.hasRemaining()) {
+                if (buffer.remaining() < QuoteRecordFormat.maxRecordSize
+                        && position + buffer.limit() < fileSize) {
+                    position += buffer.position();
+                    buffer = map(channel, position, fileSize);
+                }
+                if (!replayRecord(buffer, replayClock))
+                    return;
+            }
+        }
+    }
+
+    private MappedByteBuffer map(final FileChannel channel,
+                                 final long position,
+                                 final long fileSize) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY,
+                           position,
+                           Math.min(chunkSize, fileSize - position));
+    }
+
+    private boolean replayRecord(final MappedByteBuffer buffer,
+                                 final ReplayClock replayClock) throws InterruptedException {
+        final byte recordType = buffer.get();
+        if (buffer.remaining() < QuoteRecordFormat.recordSize(recordType) - 1)
+            return false;
+
+        if (recordType == QuoteRecordFormat.tickRecord) {
+            final TickQuote tickQuote = QuoteRecordFormat.readTick(buffer);
+            replayClock.awaitQuoteTime(tickQuote.tick().getTime());
+            quoteUtil.onTick(tickQuote.instrument(), tickQuote.tick());
+            return true;
+        }
+        if (recordType == QuoteRecordFormat.barRecord) {
+            final BarQuote barQuote = QuoteRecordFormat.readBar(buffer);
+            replayClock.awaitQuoteTime(barQuote.bar().getTime());
+            quoteUtil.onBarQuote(barQuote);
+            return true;
+        }
+        return false;
+    }
+
+    private static final class ReplayClock {
+
+        private final boolean isWallClock;
+        private long firstQuoteTime = Long.MIN_VALUE;
+        private long startNanos;
+
+        private ReplayClock(final ReplayMode replayMode) {
+            isWallClock = replayMode == ReplayMode.WALL_CLOCK;
+        }
+
+        private void awaitQuoteTime(final long quoteTime) throws InterruptedException {
+            if (!isWallClock)
+                return;
+            if (firstQuoteTime == Long.MIN_VALUE) {
+                firstQuoteTime = quoteTime;
+                startNanos = System.nanoTime();
+                return;
+            }
+
+            final long dueNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(quoteTime - firstQuoteTime);
+            final long waitNanos = dueNanos - System.nanoTime();
+            if (waitNanos > 0L)
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
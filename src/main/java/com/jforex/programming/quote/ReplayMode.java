@@ -0,0 +1,7 @@
+package com.jforex.programming.quote;
+
+public enum ReplayMode {
+
+    FULL_SPEED,
+    WALL_CLOCK
+}
@@ -0,0 +1,94 @@
+package com.jforex.programming.quote;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import com.dukascopy.api.ITick;
+
+public final class ReplayTick implements ITick {
+
+    private final long time;
+    private final double bid;
+    private final double ask;
+    private final double bidVolume;
+    private final double askVolume;
+
+    public ReplayTick(final long time,
+                      final double bid,
+                      final double ask,
+                      final double bidVolume,
+                      final double askVolume) {
+        this.time = time;
+        this.bid = bid;
+        this.ask = ask;
+        this.bidVolume = bidVolume;
+        this.askVolume = askVolume;
+    }
+
+    @Override
+    public long getTime() {
+        return time;
+    }
+
+    @Override
+    public double getBid() {
+        return bid;
+    }
+
+    @Override
+    public double getAsk() {
+        return ask;
+    }
+
+    @Override
+    public double getBidVolume() {
+        return bidVolume;
+    }
+
+    @Override
+    public double getAskVolume() {
+        return askVolume;
+    }
+
+    @Override
+    public double[] getBids() {
+        return new double[] { bid };
+    }
+
+    @Override
+    public double[] getAsks() {
+        return new double[] { ask };
+    }
+
+    @Override
+    public double[] getBidVolumes() {
+        return new double[] { bidVolume };
+    }
+
+    @Override
+    public double[] getAskVolumes() {
+        return new double[] { askVolume };
+    }
+
+    @Override
+    public double getTotalBidVolume() {
+        return bidVolume;
+    }
+
+    @Override
+    public double getTotalAskVolume() {
+        return askVolume;
+    }
+
+    @Override
+    public String toString() {
+        final ToStringBuilder toStringBuilder = new ToStringBuilder(this, ToStringStyle.DEFAULT_STYLE);
+        toStringBuilder.append("time", time);
+        toStringBuilder.append("bid", bid);
+        toStringBuilder.append("ask", ask);
+        toStringBuilder.append("bidVolume", bidVolume);
+        toStringBuilder.append("askVolume", askVolume);
+
+        return toStringBuilder.toString();
+    }
+}
@@ -0,0 +1,99 @@
+package com.jforex.programming.quote;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.dukascopy.api.Instrument;
+import com.jforex.programming.settings.UserSettings;
+import com.jforex.programming.strategy.StrategyUtil;
+
+import io.reactivex.Observable;
+
+public class TickHistoryRepository {
+
+    private final AtomicReferenceArray<TickRingBuffer> ringBuffers =
+            new AtomicReferenceArray<>(Instrument.values().length);
+    private final int defaultCapacity;
+    private final Map<Instrument, Integer> capacityByInstrument;
+
+    private static final UserSettings userSettings = StrategyUtil.userSettings;
+    private static final Logger logger = LogManager.getLogger(TickHistoryRepository.class);
+
+    public TickHistoryRepository(final Observable<TickQuote> tickQuoteObservable,
+                                 final Set<Instrument> subscribedInstruments) {
+        this(tickQuoteObservable,
+             subscribedInstruments,
+             userSettings.tickHistoryCapacity(),
+             userSettings.tickHistoryCapacities());
+    }
+
+    public TickHistoryRepository(final Observable<TickQuote> tickQuoteObservable,
+                                 final Set<Instrument> subscribedInstruments,
+                                 final int defaultCapacity,
+                                 final String[] capacityEntries) {
+        this.defaultCapacity = defaultCapacity;
+        capacityByInstrument = capacitiesFromSettings(capacityEntries);
+
+        subscribedInstruments.forEach(this::ringBufferFor);
+        tickQuoteObservable.subscribe(this::onTickQuote);
+    }
+
+    private final void onTickQuote(final TickQuote tickQuote) {
+        final TickRingBuffer ringBuffer = ringBufferFor(tickQuote.instrument());
+        if (ringBuffer != null)
+            ringBuffer.add(tickQuote.tick());
+    }
+
+    private final TickRingBuffer ringBufferFor(final Instrument instrument) {
+        final int ordinal = instrument.ordinal();
+        final TickRingBuffer ringBuffer = ringBuffers.get(ordinal);
+        if (ringBuffer != null)
+            return ringBuffer;
+
+        final int capacity = capacity(instrument);
+        if (capacity <= 0)
+            return null;
+        ringBuffers.compareAndSet(ordinal, null, new TickRingBuffer(capacity));
+        return ringBuffers.get(ordinal);
+    }
+
+    public int capacity(final Instrument instrument) {
+        return capacityByInstrument.getOrDefault(instrument, defaultCapacity);
+    }
+
+    public TickWindow window(final Instrument instrument,
+                             final int length) {
+        checkArgument(length >= 0, "Window length must not be negative but is %s", length);
+
+        final TickRingBuffer ringBuffer = ringBuffers.get(instrument.ordinal());
+        return ringBuffer == null
+                ? TickWindow.empty()
+                : ringBuffer.window(length);
+    }
+
+    private static final Map<Instrument, Integer> capacitiesFromSettings(final String[] capacityEntries) {
+        final Map<Instrument, Integer> capacities = new EnumMap<>(Instrument.class);
+        for (final String capacityEntry : capacityEntries) {
+            final String[] instrumentAndCapacity = capacityEntry.trim().split(":");
+            if (instrumentAndCapacity.length != 2) {
+                if (!capacityEntry.trim().isEmpty())
+                    logger.error("Invalid tick history capacity entry " + capacityEntry + "!");
+                continue;
+            }
+            try {
+                capacities.put(Instrument.valueOf(instrumentAndCapacity[0].trim()),
+                               Integer.parseInt(instrumentAndCapacity[1].trim()));
+            } catch (final IllegalArgumentException e) {
+                logger.error("Invalid tick history capacity entry " + capacityEntry + "! " + e.getMessage());
+            }
+        }
+        return capacities;
+    }
+}
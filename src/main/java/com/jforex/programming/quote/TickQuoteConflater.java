@@ -0,0 +1,57 @@
+package com.jforex.programming.quote;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.reactivex.Observable;
+import io.reactivex.ObservableEmitter;
+import io.reactivex.Scheduler;
+import io.reactivex.disposables.CompositeDisposable;
+import io.reactivex.disposables.Disposable;
+
+/**
+ * Delivers only the latest tick to a consumer which is behind.
+ *
+ * Each subscriber gets its own pending slot on the given scheduler. When a
+ * new tick arrives before the pending one was delivered, the pending one is
+ * replaced and the conflated counter increases.
+ */
+public class TickQuoteConflater {
+
+    private final Observable<TickQuote> tickQuoteObservable;
+    private final Scheduler scheduler;
+    private final AtomicLong conflatedCount = new AtomicLong();
+
+    public TickQuoteConflater(final Observable<TickQuote> tickQuoteObservable,
+                              final Scheduler scheduler) {
+        this.tickQuoteObservable = tickQuoteObservable;
+        this.scheduler = scheduler;
+    }
+
+    public Observable<TickQuote> observable() {
+        return Observable.create(emitter -> {
+            final Scheduler.Worker worker = scheduler.createWorker();
+            final AtomicReference<TickQuote> pendingQuote = new AtomicReference<>();
+            final Disposable upstream = tickQuoteObservable
+                .subscribe(tickQuote -> onTickQuote(tickQuote, pendingQuote, worker, emitter),
+                           error -> worker.schedule(() -> emitter.onError(error)),
+                           () -> worker.schedule(emitter::onComplete));
+
+            emitter.setDisposable(new CompositeDisposable(upstream, worker));
+        });
+    }
+
+    private void onTickQuote(final TickQuote tickQuote,
+                             final AtomicReference<TickQuote> pendingQuote,
+                             final Scheduler.Worker worker,
+                             final ObservableEmitter<TickQuote> emitter) {
+        if (pendingQuote.getAndSet(tickQuote) == null)
+            worker.schedule(() -> emitter.onNext(pendingQuote.getAndSet(null)));
+        else
+            conflatedCount.incrementAndGet();
+    }
+
+    public long conflatedCount() {
+        return conflatedCount.get();
+    }
+}
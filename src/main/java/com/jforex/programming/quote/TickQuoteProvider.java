@@ -8,17 +8,25 @@ import com.dukascopy.api.ITick;
 import com.dukascopy.api.Instrument;
 import com.dukascopy.api.OfferSide;
 
+import io.reactivex.Completable;
 import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
 
 public class TickQuoteProvider {
 
     private final Observable<TickQuote> tickQuoteObservable;
     private final TickQuoteRepository tickQuoteRepository;
+    private final TickHistoryRepository tickHistoryRepository;
+    private final TickQuoteRouter tickQuoteRouter;
 
     public TickQuoteProvider(final Observable<TickQuote> tickQuoteObservable,
-                             final TickQuoteRepository tickQuoteRepository) {
+                             final TickQuoteRepository tickQuoteRepository,
+                             final TickHistoryRepository tickHistoryRepository) {
         this.tickQuoteObservable = tickQuoteObservable;
         this.tickQuoteRepository = tickQuoteRepository;
+        this.tickHistoryRepository = tickHistoryRepository;
+        tickQuoteRouter = new TickQuoteRouter(tickQuoteObservable);
     }
 
     public ITick tick(final Instrument instrument) {
@@ -32,13 +40,13 @@ public class TickQuoteProvider {
     public double ask(final Instrument instrument) {
         checkNotNull(instrument);
 
-        return tick(instrument).getAsk();
+        return tickQuoteRepository.ask(instrument);
     }
 
     public double bid(final Instrument instrument) {
         checkNotNull(instrument);
 
-        return tick(instrument).getBid();
+        return tickQuoteRepository.bid(instrument);
     }
 
     public double forOfferSide(final Instrument instrument,
@@ -51,6 +59,13 @@ public class TickQuoteProvider {
                 : ask(instrument);
     }
 
+    public TickWindow tickWindow(final Instrument instrument,
+                                 final int length) {
+        checkNotNull(instrument);
+
+        return tickHistoryRepository.window(instrument, length);
+    }
+
     public Observable<TickQuote> observable() {
         return tickQuoteObservable;
     }
@@ -58,8 +73,23 @@ public class TickQuoteProvider {
     public Observable<TickQuote> observableForInstruments(final Set<Instrument> instruments) {
         checkNotNull(instruments);
 
-        return tickQuoteObservable
-            .filter(tickQuote -> instruments.contains(tickQuote.instrument()));
+        return tickQuoteRouter.observableForInstruments(instruments);
+    }
+
+    public TickQuoteConflater conflated(final Instrument instrument) {
+        return conflated(instrument, Schedulers.computation());
+    }
+
+    public TickQuoteConflater conflated(final Instrument instrument,
+                                        final Scheduler scheduler) {
+        checkNotNull(instrument);
+        checkNotNull(scheduler);
+
+        return new TickQuoteConflater(tickQuoteRouter.observableForInstrument(instrument), scheduler);
+    }
+
+    public Completable warmUp() {
+        return tickQuoteRepository.warmUp();
     }
 
     public TickQuoteRepository repository() {
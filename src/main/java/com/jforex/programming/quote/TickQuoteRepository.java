@@ -1,9 +1,10 @@
 package com.jforex.programming.quote;
 
-import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -11,12 +12,17 @@ import org.apache.logging.log4j.Logger;
 import com.dukascopy.api.Instrument;
 import com.jforex.programming.misc.HistoryUtil;
 
+import io.reactivex.Completable;
 import io.reactivex.Observable;
+import io.reactivex.Single;
+import io.reactivex.schedulers.Schedulers;
 
 public class TickQuoteRepository {
 
     private final HistoryUtil historyUtil;
-    private final Map<Instrument, TickQuote> quotesByInstrument = new ConcurrentHashMap<>();
+    private final TickQuoteStore tickQuoteStore = new TickQuoteStore();
+    private final ConcurrentMap<Instrument, Single<TickQuote>> pendingHistoryQuotes = new ConcurrentHashMap<>();
+    private final Completable warmUp;
 
     private final static Logger logger = LogManager.getLogger(TickQuoteRepository.class);
 
@@ -25,32 +31,72 @@ public class TickQuoteRepository {
                                final Set<Instrument> subscribedInstruments) {
         this.historyUtil = historyUtil;
 
-        historyUtil
+        warmUp = historyUtil
             .tickQuotesObservable(subscribedInstruments)
-            .subscribe(this::onTickQuote);
+            .doOnNext(this::onTickQuote)
+            .ignoreElements()
+            .cache();
+        warmUp.subscribe(() -> logger.debug("Tick quotes for " + subscribedInstruments.size()
+                + " subscribed instruments are primed."),
+                         e -> logger.error("Warm up of tick quotes failed! " + e.getMessage()));
         tickQuoteObservable.subscribe(this::onTickQuote);
     }
 
+    public Completable warmUp() {
+        return warmUp;
+    }
+
     private final void onTickQuote(final TickQuote tickQuote) {
-        quotesByInstrument.put(tickQuote.instrument(), tickQuote);
+        tickQuoteStore.put(tickQuote);
     }
 
     public TickQuote get(final Instrument instrument) {
-        return quotesByInstrument.containsKey(instrument)
-                ? quotesByInstrument.get(instrument)
+        final TickQuote tickQuote = tickQuoteStore.get(instrument);
+        return tickQuote != null
+                ? tickQuote
                 : quoteFromHistory(instrument);
+    }
 
+    public double ask(final Instrument instrument) {
+        ensureQuote(instrument);
+        return tickQuoteStore.ask(instrument);
     }
 
-    private TickQuote quoteFromHistory(final Instrument instrument) {
+    public double bid(final Instrument instrument) {
+        ensureQuote(instrument);
+        return tickQuoteStore.bid(instrument);
+    }
+
+    public Single<TickQuote> getAsync(final Instrument instrument) {
+        final TickQuote tickQuote = tickQuoteStore.get(instrument);
+        return tickQuote != null
+                ? Single.just(tickQuote)
+                : pendingHistoryQuotes.computeIfAbsent(instrument, this::historyQuoteSingle);
+    }
+
+    private Single<TickQuote> historyQuoteSingle(final Instrument instrument) {
         logger.debug("Trying to get tick quote for " + instrument + " from history...");
 
+        final AtomicReference<Single<TickQuote>> historyQuote = new AtomicReference<>();
+        historyQuote.set(historyUtil
+            .tickQuoteObservable(instrument)
+            .firstOrError()
+            .subscribeOn(Schedulers.io())
+            .doOnSuccess(this::onTickQuote)
+            .doFinally(() -> pendingHistoryQuotes.remove(instrument, historyQuote.get()))
+            .cache());
+        return historyQuote.get();
+    }
+
+    private void ensureQuote(final Instrument instrument) {
+        if (!tickQuoteStore.contains(instrument))
+            quoteFromHistory(instrument);
+    }
+
+    private TickQuote quoteFromHistory(final Instrument instrument) {
         TickQuote tickQuote = null;
         try {
-            tickQuote = historyUtil
-                .tickQuoteObservable(instrument)
-                .blockingFirst();
-            onTickQuote(tickQuote);
+            tickQuote = getAsync(instrument).blockingGet();
         } catch (final Exception e) {
             logger.error("Could not get historical quote for " + instrument + "!" + e.getMessage());
         }
@@ -59,6 +105,6 @@ public class TickQuoteRepository {
     }
 
     public Map<Instrument, TickQuote> getAll() {
-        return Collections.unmodifiableMap(quotesByInstrument);
+        return tickQuoteStore.getAll();
     }
 }
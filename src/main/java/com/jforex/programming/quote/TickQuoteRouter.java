@@ -0,0 +1,49 @@
+package com.jforex.programming.quote;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.dukascopy.api.Instrument;
+import com.jforex.programming.rx.JFHotPublisher;
+
+import io.reactivex.Observable;
+
+public class TickQuoteRouter {
+
+    private final AtomicReferenceArray<JFHotPublisher<TickQuote>> publishers =
+            new AtomicReferenceArray<>(Instrument.values().length);
+
+    public TickQuoteRouter(final Observable<TickQuote> tickQuoteObservable) {
+        tickQuoteObservable.subscribe(this::onTickQuote);
+    }
+
+    private final void onTickQuote(final TickQuote tickQuote) {
+        final JFHotPublisher<TickQuote> publisher = publishers.get(tickQuote
+            .instrument()
+            .ordinal());
+        if (publisher != null)
+            publisher.onNext(tickQuote);
+    }
+
+    public Observable<TickQuote> observableForInstrument(final Instrument instrument) {
+        return publisherFor(instrument).observable();
+    }
+
+    public Observable<TickQuote> observableForInstruments(final Set<Instrument> instruments) {
+        return instruments.size() == 1
+                ? observableForInstrument(instruments.iterator().next())
+                : Observable
+                    .fromIterable(instruments)
+                    .flatMap(this::observableForInstrument);
+    }
+
+    private final JFHotPublisher<TickQuote> publisherFor(final Instrument instrument) {
+        final int ordinal = instrument.ordinal();
+        final JFHotPublisher<TickQuote> publisher = publishers.get(ordinal);
+        if (publisher != null)
+            return publisher;
+
+        publishers.compareAndSet(ordinal, null, new JFHotPublisher<>());
+        return publishers.get(ordinal);
+    }
+}
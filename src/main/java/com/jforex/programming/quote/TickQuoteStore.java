@@ -0,0 +1,132 @@
+package com.jforex.programming.quote;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.dukascopy.api.ITick;
+import com.dukascopy.api.Instrument;
+
+/**
+ * Primitive tick store with one seqlock protected slot per instrument.
+ *
+ * Slots are indexed by the instrument ordinal, so reading a price neither
+ * hashes nor allocates. Writers mark a slot as busy by making its sequence
+ * odd; readers retry until they see the same even sequence before and after
+ * reading the slot fields.
+ *
+ * A quote older than the stored one is skipped, so a history quote which
+ * arrives late can not replace a fresher live tick.
+ */
+public class TickQuoteStore {
+
+    private final AtomicLongArray slots;
+    private final AtomicReferenceArray<TickQuote> quotes;
+
+    private static final int sequenceOffset = 0;
+    private static final int bidOffset = 1;
+    private static final int askOffset = 2;
+    private static final int bidVolumeOffset = 3;
+    private static final int askVolumeOffset = 4;
+    private static final int timeOffset = 5;
+    private static final int slotSize = 6;
+    private static final long noPriceBits = Double.doubleToRawLongBits(Double.NaN);
+
+    public TickQuoteStore() {
+        final int noOfInstruments = Instrument.values().length;
+        slots = new AtomicLongArray(noOfInstruments * slotSize);
+        quotes = new AtomicReferenceArray<>(noOfInstruments);
+
+        for (int index = 0; index < noOfInstruments; ++index) {
+            final int base = index * slotSize;
+            slots.set(base + bidOffset, noPriceBits);
+            slots.set(base + askOffset, noPriceBits);
+        }
+    }
+
+    public boolean put(final TickQuote tickQuote) {
+        final ITick tick = tickQuote.tick();
+        final int ordinal = tickQuote
+            .instrument()
+            .ordinal();
+        final int base = ordinal * slotSize;
+        final long sequence = acquireSlot(base);
+        if (quotes.get(ordinal) != null && tick.getTime() < slots.get(base + timeOffset)) {
+            slots.set(base + sequenceOffset, sequence);
+            return false;
+        }
+
+        slots.set(base + bidOffset, Double.doubleToRawLongBits(tick.getBid()));
+        slots.set(base + askOffset, Double.doubleToRawLongBits(tick.getAsk()));
+        slots.set(base + bidVolumeOffset, Double.doubleToRawLongBits(tick.getBidVolume()));
+        slots.set(base + askVolumeOffset, Double.doubleToRawLongBits(tick.getAskVolume()));
+        slots.set(base + timeOffset, tick.getTime());
+        quotes.set(ordinal, tickQuote);
+
+        slots.set(base + sequenceOffset, sequence + 2);
+        return true;
+    }
+
+    private long acquireSlot(final int base) {
+        while (true) {
+            final long sequence = slots.get(base + sequenceOffset);
+            if ((sequence & 1L) == 0L && slots.compareAndSet(base + sequenceOffset, sequence, sequence + 1))
+                return sequence;
+        }
+    }
+
+    public boolean contains(final Instrument instrument) {
+        return quotes.get(instrument.ordinal()) != null;
+    }
+
+    public TickQuote get(final Instrument instrument) {
+        return quotes.get(instrument.ordinal());
+    }
+
+    public double bid(final Instrument instrument) {
+        return Double.longBitsToDouble(readField(instrument, bidOffset));
+    }
+
+    public double ask(final Instrument instrument) {
+        return Double.longBitsToDouble(readField(instrument, askOffset));
+    }
+
+    public double bidVolume(final Instrument instrument) {
+        return Double.longBitsToDouble(readField(instrument, bidVolumeOffset));
+    }
+
+    public double askVolume(final Instrument instrument) {
+        return Double.longBitsToDouble(readField(instrument, askVolumeOffset));
+    }
+
+    public long time(final Instrument instrument) {
+        return readField(instrument, timeOffset);
+    }
+
+    private long readField(final Instrument instrument,
+                           final int fieldOffset) {
+        final int base = instrument.ordinal() * slotSize;
+        while (true) {
+            final long sequenceBefore = slots.get(base + sequenceOffset);
+            if ((sequenceBefore & 1L) != 0L)
+                continue;
+
+            final long value = slots.get(base + fieldOffset);
+            if (slots.get(base + sequenceOffset) == sequenceBefore)
+                return value;
+        }
+    }
+
+    public Map<Instrument, TickQuote> getAll() {
+        final Map<Instrument, TickQuote> quotesByInstrument = new EnumMap<>(Instrument.class);
+        for (final Instrument instrument : Instrument.values()) {
+            final TickQuote tickQuote = quotes.get(instrument.ordinal());
+            if (tickQuote != null)
+                quotesByInstrument.put(instrument, tickQuote);
+        }
+
+        return Collections.unmodifiableMap(quotesByInstrument);
+    }
+}
@@ -0,0 +1,76 @@
+package com.jforex.programming.quote;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.dukascopy.api.ITick;
+
+/**
+ * Fixed capacity, preallocated ring of the latest ticks of one instrument.
+ *
+ * The buffer has a single writer which is the thread delivering live ticks.
+ * Readers see all slots up to the published write sequence.
+ */
+public class TickRingBuffer {
+
+    private final int capacity;
+    private final double[] bids;
+    private final double[] asks;
+    private final long[] times;
+    private volatile long writeSequence;
+
+    public TickRingBuffer(final int capacity) {
+        this.capacity = capacity;
+        bids = new double[capacity];
+        asks = new double[capacity];
+        times = new long[capacity];
+    }
+
+    public void add(final ITick tick) {
+        final long sequence = writeSequence;
+        final int index = indexOf(sequence);
+
+        bids[index] = tick.getBid();
+        asks[index] = tick.getAsk();
+        times[index] = tick.getTime();
+        writeSequence = sequence + 1;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return (int) Math.min(writeSequence, capacity);
+    }
+
+    public long writeSequence() {
+        return writeSequence;
+    }
+
+    public TickWindow window(final int length) {
+        checkArgument(length >= 0, "Window length must not be negative but is %s", length);
+
+        final long endSequence = writeSequence;
+        final int windowSize = (int) Math.min(Math.min(length, capacity), endSequence);
+
+        return new TickWindow(this,
+                              endSequence - windowSize,
+                              windowSize);
+    }
+
+    final double bidAt(final long sequence) {
+        return bids[indexOf(sequence)];
+    }
+
+    final double askAt(final long sequence) {
+        return asks[indexOf(sequence)];
+    }
+
+    final long timeAt(final long sequence) {
+        return times[indexOf(sequence)];
+    }
+
+    private final int indexOf(final long sequence) {
+        return (int) (sequence % capacity);
+    }
+}
@@ -0,0 +1,55 @@
+package com.jforex.programming.quote;
+
+/**
+ * Read only view on the last ticks of a {@link TickRingBuffer}.
+ *
+ * No tick data is copied; index 0 is the oldest tick of the window and
+ * size() - 1 the latest. The window stays valid until the ring has been
+ * overwritten by more than (capacity - size) new ticks.
+ */
+public final class TickWindow {
+
+    private final TickRingBuffer ringBuffer;
+    private final long startSequence;
+    private final int size;
+
+    private static final TickWindow empty = new TickWindow(null, 0L, 0);
+
+    TickWindow(final TickRingBuffer ringBuffer,
+               final long startSequence,
+               final int size) {
+        this.ringBuffer = ringBuffer;
+        this.startSequence = startSequence;
+        this.size = size;
+    }
+
+    public static final TickWindow empty() {
+        return empty;
+    }
+
+    public final int size() {
+        return size;
+    }
+
+    public final boolean isEmpty() {
+        return size == 0;
+    }
+
+    public final double bid(final int index) {
+        return ringBuffer.bidAt(sequenceOf(index));
+    }
+
+    public final double ask(final int index) {
+        return ringBuffer.askAt(sequenceOf(index));
+    }
+
+    public final long time(final int index) {
+        return ringBuffer.timeAt(sequenceOf(index));
+    }
+
+    private final long sequenceOf(final int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index " + index + " is out of window size " + size);
+        return startSequence + index;
+    }
+}
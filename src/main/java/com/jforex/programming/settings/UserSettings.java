@@ -26,6 +26,62 @@ public interface UserSettings extends Config {
     @DefaultValue("M_")
     public String defaultMergePrefix();
 
+    @Key("order.journaldirectory")
+    @DefaultValue("")
+    public String orderJournalDirectory();
+
+    @Key("order.journalsnapshotinterval")
+    @DefaultValue("10000")
+    public int orderJournalSnapshotInterval();
+
+    @Key("order.commandbatchwindow")
+    @DefaultValue("0")
+    public long commandBatchWindow();
+
+    @Key("order.commandbatchsize")
+    @DefaultValue("200")
+    public int commandBatchSize();
+
+    @Key("order.batchmaxconcurrency")
+    @DefaultValue("8")
+    public int batchMaxConcurrency();
+
+    @Key("order.batchtaskspersecond")
+    @DefaultValue("0")
+    public long batchTasksPerSecond();
+
+    @Key("order.retrybudgetenabled")
+    @DefaultValue("false")
+    public boolean retryBudgetEnabled();
+
+    @Key("order.retrybudgettokens")
+    @DefaultValue("20")
+    public int retryBudgetTokens();
+
+    @Key("order.retrybudgettokenspersecond")
+    @DefaultValue("2.0")
+    public double retryBudgetTokensPerSecond();
+
+    @Key("order.retrymaxdelay")
+    @DefaultValue("10000")
+    public long retryMaxDelay();
+
+    @Key("order.rejectstormthreshold")
+    @DefaultValue("20")
+    public int rejectStormThreshold();
+
+    @Key("order.rejectstormwindow")
+    @DefaultValue("1000")
+    public long rejectStormWindow();
+
+    @Key("order.retrycircuitopentime")
+    @DefaultValue("5000")
+    public long retryCircuitOpenTime();
+
+    @Key("order.nonblockingstrategythread")
+    @DefaultValue("false")
+    public boolean nonBlockingStrategyThread();
+
     @Key("history.maxretriesonhistoryfail")
     @DefaultValue("5")
     public int maxRetriesOnHistoryFail();
@@ -34,6 +90,22 @@ public interface UserSettings extends Config {
     @DefaultValue("500")
     public long delayOnHistoryFailRetry();
 
+    @Key("history.warmupparallelism")
+    @DefaultValue("4")
+    public int warmUpParallelism();
+
+    @Key("quote.tickhistorycapacity")
+    @DefaultValue("0")
+    public int tickHistoryCapacity();
+
+    @Key("quote.tickhistorycapacities")
+    @DefaultValue("")
+    public String[] tickHistoryCapacities();
+
+    @Key("quote.aggregatebarsfromticks")
+    @DefaultValue("false")
+    public boolean aggregateBarsFromTicks();
+
     @Key("env.enableweekendquotefilter")
     @DefaultValue("true")
     public boolean enableWeekendQuoteFilter();
@@ -18,6 +18,7 @@ public final class ContextUtil {
     private final IHistory history;
     private final HistoryUtil historyUtil;
     private final IDataService dataService;
+    private final MarketHoursCalendar marketHoursCalendar;
 
     public ContextUtil(final IContext context) {
         this.context = context;
@@ -26,6 +27,7 @@ public final class ContextUtil {
         history = context.getHistory();
         dataService = context.getDataService();
         historyUtil = new HistoryUtil(history);
+        marketHoursCalendar = new MarketHoursCalendar(dataService);
     }
 
     public final IContext context() {
@@ -56,6 +58,10 @@ public final class ContextUtil {
         return dataService.isOfflineTime(time);
     }
 
+    public final MarketHoursCalendar marketHoursCalendar() {
+        return marketHoursCalendar;
+    }
+
     public final void initBarsFeed(final BarParams barParams,
                                    final IBarFeedListener barFeedListener) {
         context.subscribeToBarsFeed(barParams.instrument(),
@@ -0,0 +1,150 @@
+package com.jforex.programming.strategy;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.dukascopy.api.IDataService;
+import com.dukascopy.api.ITimeDomain;
+import com.dukascopy.api.JFException;
+
+/**
+ * Caches the offline time domains of the platform for one week.
+ *
+ * The week starts on Monday 00:00 UTC, so a weekend is never split. A time
+ * outside of the cached week loads the offline domains of its week once. If
+ * the domains can not be loaded, the check falls back to the platform call
+ * and the next load is not tried before the load retry time has passed.
+ */
+public final class MarketHoursCalendar {
+
+    private final IDataService dataService;
+    private final LongSupplier nanoClock;
+    private volatile Week week = Week.empty;
+    private volatile boolean isLoadFailed;
+    private volatile long nextLoadTime;
+
+    private static final long weekMillis = TimeUnit.DAYS.toMillis(7L);
+    private static final long mondayOffset = TimeUnit.DAYS.toMillis(4L);
+    private static final long loadRetryNanos = TimeUnit.MINUTES.toNanos(1L);
+    private static final Logger logger = LogManager.getLogger(MarketHoursCalendar.class);
+
+    public MarketHoursCalendar(final IDataService dataService) {
+        this(dataService, System::nanoTime);
+    }
+
+    public MarketHoursCalendar(final IDataService dataService,
+                               final LongSupplier nanoClock) {
+        this.dataService = dataService;
+        this.nanoClock = nanoClock;
+    }
+
+    public boolean isOfflineTime(final long time) {
+        final Week currentWeek = week;
+        if (currentWeek.contains(time))
+            return currentWeek.isOffline(time);
+
+        final Week loadedWeek = isLoadRetryPending()
+                ? null
+                : loadWeek(time);
+        return loadedWeek != null
+                ? loadedWeek.isOffline(time)
+                : dataService.isOfflineTime(time);
+    }
+
+    private boolean isLoadRetryPending() {
+        return isLoadFailed && nanoClock.getAsLong() - nextLoadTime < 0L;
+    }
+
+    private synchronized Week loadWeek(final long time) {
+        if (week.contains(time))
+            return week;
+        if (isLoadRetryPending())
+            return null;
+
+        final long from = Math.floorDiv(time - mondayOffset, weekMillis) * weekMillis + mondayOffset;
+        final long to = from + weekMillis;
+        try {
+            final Set<ITimeDomain> offlineDomains = dataService.getOfflineTimeDomains(from, to - 1L);
+            if (offlineDomains == null)
+                return onLoadFailed("No offline time domains available!");
+
+            week = Week.of(from,
+                           to,
+                           offlineDomains);
+            isLoadFailed = false;
+            return week;
+        } catch (final JFException e) {
+            return onLoadFailed("Could not load offline time domains! " + e.getMessage());
+        }
+    }
+
+    private Week onLoadFailed(final String errorMessage) {
+        logger.error(errorMessage + " Next load is tried in "
+                + TimeUnit.NANOSECONDS.toSeconds(loadRetryNanos) + " seconds.");
+        nextLoadTime = nanoClock.getAsLong() + loadRetryNanos;
+        isLoadFailed = true;
+        return null;
+    }
+
+    private static final class Week {
+
+        private final long from;
+        private final long to;
+        private final long[] offlineStarts;
+        private final long[] offlineEnds;
+
+        private static final Week empty = new Week(0L, 0L, new long[0], new long[0]);
+
+        private Week(final long from,
+                     final long to,
+                     final long[] offlineStarts,
+                     final long[] offlineEnds) {
+            this.from = from;
+            this.to = to;
+            this.offlineStarts = offlineStarts;
+            this.offlineEnds = offlineEnds;
+        }
+
+        private static Week of(final long from,
+                               final long to,
+                               final Set<ITimeDomain> offlineDomains) {
+            final ITimeDomain[] domains = offlineDomains.toArray(new ITimeDomain[offlineDomains.size()]);
+            Arrays.sort(domains, Comparator.comparingLong(ITimeDomain::getStart));
+
+            final long[] starts = new long[domains.length];
+            final long[] ends = new long[domains.length];
+            int count = 0;
+            for (final ITimeDomain domain : domains) {
+                if (count > 0 && domain.getStart() <= ends[count - 1])
+                    ends[count - 1] = Math.max(ends[count - 1], domain.getEnd());
+                else {
+                    starts[count] = domain.getStart();
+                    ends[count] = domain.getEnd();
+                    ++count;
+                }
+            }
+            return new Week(from,
+                            to,
+                            Arrays.copyOf(starts, count),
+                            Arrays.copyOf(ends, count));
+        }
+
+        private boolean contains(final long time) {
+            return time >= from && time < to;
+        }
+
+        private boolean isOffline(final long time) {
+            final int index = Arrays.binarySearch(offlineStarts, time);
+            final int domainIndex = index >= 0
+                    ? index
+                    : -index - 2;
+            return domainIndex >= 0 && time <= offlineEnds[domainIndex];
+        }
+    }
+}
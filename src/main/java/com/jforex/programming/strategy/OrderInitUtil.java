@@ -1,15 +1,26 @@
 package com.jforex.programming.strategy;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
 import com.dukascopy.api.IEngine;
 import com.dukascopy.api.IMessage;
+import com.dukascopy.api.IOrder;
 import com.jforex.programming.math.CalculationUtil;
+import com.jforex.programming.misc.StrategyThreadBridge;
 import com.jforex.programming.misc.StrategyThreadRunner;
 import com.jforex.programming.order.OrderUtil;
 import com.jforex.programming.order.OrderUtilHandler;
+import com.jforex.programming.order.call.OrderCallMetrics;
 import com.jforex.programming.order.call.OrderCallRequest;
 import com.jforex.programming.order.event.OrderEventFactory;
 import com.jforex.programming.order.event.OrderEventGateway;
 import com.jforex.programming.order.event.OrderEventTypeDataFactory;
+import com.jforex.programming.order.event.OrderStateJournal;
 import com.jforex.programming.order.task.BasicTask;
 import com.jforex.programming.order.task.BasicTaskForBatch;
 import com.jforex.programming.order.task.BatchCancelSLTask;
@@ -23,11 +34,13 @@ import com.jforex.programming.order.task.ClosePositionTask;
 import com.jforex.programming.order.task.MergeAndClosePositionTask;
 import com.jforex.programming.order.task.MergePositionTask;
 import com.jforex.programming.order.task.OrdersForPositionClose;
+import com.jforex.programming.order.task.RetryBudget;
 import com.jforex.programming.order.task.TaskExecutor;
 import com.jforex.programming.order.task.params.TaskParamsUtil;
 import com.jforex.programming.position.PositionFactory;
 import com.jforex.programming.position.PositionUtil;
 import com.jforex.programming.rx.JFHotPublisher;
+import com.jforex.programming.settings.UserSettings;
 
 import io.reactivex.Completable;
 import io.reactivex.Observable;
@@ -42,13 +55,17 @@ public class OrderInitUtil {
     private final TaskExecutor orderTaskExecutor;
     private final OrderUtilHandler orderUtilHandler;
     private final BasicTask orderBasicTask;
-    private final BatchCreator batchCreator = new BatchCreator();
+    private final BatchCreator batchCreator = new BatchCreator(userSettings.batchMaxConcurrency(),
+                                                               userSettings.batchTasksPerSecond());
     private final BasicTaskForBatch basicTaskForBatch;
     private final BatchComposer batchComposer;
     private final BatchChangeTask batchChangeTask;
     private final MergePositionTask orderMergeTask;
     private final ClosePositionTask orderCloseTask;
-    private final TaskParamsUtil taskParamsUtil = new TaskParamsUtil();
+    private final Optional<RetryBudget> retryBudget = createRetryBudget();
+    private final TaskParamsUtil taskParamsUtil = retryBudget
+        .map(TaskParamsUtil::new)
+        .orElseGet(TaskParamsUtil::new);
     private final OrdersForPositionClose ordersForPositionClose;
     private final MergeAndClosePositionTask mergeAndClosePositionTask;
     private final CancelSLTPAndMergeTask cancelSLTPAndMergeTask;
@@ -59,6 +76,11 @@ public class OrderInitUtil {
     private final OrderEventFactory orderEventFactory;
     private final OrderEventTypeDataFactory orderEventTypeDataFactory = new OrderEventTypeDataFactory();
     private final JFHotPublisher<OrderCallRequest> callRequestPublisher = new JFHotPublisher<>();
+    private final OrderCallMetrics orderCallMetrics = new OrderCallMetrics();
+    private final Optional<OrderStateJournal> orderStateJournal;
+
+    private static final UserSettings userSettings = StrategyUtil.userSettings;
+    private static final Logger logger = LogManager.getLogger(OrderInitUtil.class);
 
     public OrderInitUtil(final ContextUtil contextUtil,
                          final Observable<IMessage> messageObservable,
@@ -66,13 +88,16 @@ public class OrderInitUtil {
         engine = contextUtil.engine();
         orderEventFactory = new OrderEventFactory(callRequestPublisher.observable());
         orderEventGateway = new OrderEventGateway(messageObservable, orderEventFactory);
-        strategyThreadRunner = new StrategyThreadRunner(contextUtil.context());
+        strategyThreadRunner = createStrategyThreadRunner(contextUtil);
         positionFactory = new PositionFactory(orderEventGateway.observable());
         positionUtil = new PositionUtil(positionFactory);
         orderUtilHandler = new OrderUtilHandler(orderEventGateway,
                                                 orderEventTypeDataFactory,
-                                                callRequestPublisher);
-        orderTaskExecutor = new TaskExecutor(strategyThreadRunner, engine);
+                                                callRequestPublisher,
+                                                orderCallMetrics);
+        orderTaskExecutor = new TaskExecutor(strategyThreadRunner,
+                                             engine,
+                                             orderCallMetrics);
         orderBasicTask = new BasicTask(orderTaskExecutor,
                                        orderUtilHandler,
                                        calculationUtil);
@@ -96,6 +121,53 @@ public class OrderInitUtil {
                                   orderCloseTask,
                                   positionUtil,
                                   taskParamsUtil);
+        orderStateJournal = openOrderStateJournal();
+    }
+
+    private StrategyThreadRunner createStrategyThreadRunner(final ContextUtil contextUtil) {
+        final long commandBatchWindow = userSettings.commandBatchWindow();
+        if (commandBatchWindow > 0L)
+            return new StrategyThreadRunner(contextUtil.context(),
+                                            commandBatchWindow,
+                                            userSettings.commandBatchSize());
+
+        return userSettings.nonBlockingStrategyThread()
+                ? new StrategyThreadRunner(contextUtil.context(),
+                                           new StrategyThreadBridge(contextUtil.context()))
+                : new StrategyThreadRunner(contextUtil.context());
+    }
+
+    private static Optional<RetryBudget> createRetryBudget() {
+        return userSettings.retryBudgetEnabled()
+                ? Optional.of(new RetryBudget(userSettings.retryBudgetTokens(),
+                                              userSettings.retryBudgetTokensPerSecond(),
+                                              userSettings.retryMaxDelay(),
+                                              userSettings.rejectStormThreshold(),
+                                              userSettings.rejectStormWindow(),
+                                              userSettings.retryCircuitOpenTime()))
+                : Optional.empty();
+    }
+
+    private Optional<OrderStateJournal> openOrderStateJournal() {
+        final String journalDirectory = userSettings.orderJournalDirectory();
+        if (journalDirectory.isEmpty())
+            return Optional.empty();
+
+        try {
+            final OrderStateJournal journal =
+                    new OrderStateJournal(Paths.get(journalDirectory),
+                                          userSettings.orderJournalSnapshotInterval());
+            callRequestPublisher
+                .observable()
+                .subscribe(journal::onCallRequest);
+            orderEventGateway
+                .observable()
+                .subscribe(journal::onOrderEvent);
+            return Optional.of(journal);
+        } catch (final IOException e) {
+            logger.error("Could not open order journal in " + journalDirectory + "! " + e.getMessage());
+            return Optional.empty();
+        }
     }
 
     public OrderUtil orderUtil() {
@@ -110,8 +182,26 @@ public class OrderInitUtil {
         return strategyThreadRunner;
     }
 
+    public OrderCallMetrics orderCallMetrics() {
+        return orderCallMetrics;
+    }
+
+    public Optional<RetryBudget> retryBudget() {
+        return retryBudget;
+    }
+
     public void onStop() {
         callRequestPublisher.unsubscribe();
+        orderEventGateway.onStop();
+        orderStateJournal.ifPresent(this::closeJournal);
+    }
+
+    private void closeJournal(final OrderStateJournal journal) {
+        try {
+            journal.close();
+        } catch (final IOException e) {
+            logger.error("Could not close order journal! " + e.getMessage());
+        }
     }
 
     public Completable importOrders() {
@@ -120,8 +210,14 @@ public class OrderInitUtil {
             .flatMap(Observable::fromIterable)
             .doOnNext(order -> {
                 positionFactory.forInstrument(order.getInstrument());
+                orderStateJournal.ifPresent(journal -> restoreCallReasons(journal, order));
                 orderEventGateway.importOrder(order);
             })
             .ignoreElements();
     }
+
+    private void restoreCallReasons(final OrderStateJournal journal,
+                                    final IOrder order) {
+        orderEventFactory.restoreCallReasons(order, journal.pendingCallReasons(order.getLabel()));
+    }
 }
@@ -2,15 +2,21 @@ package com.jforex.programming.strategy;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 import com.dukascopy.api.IBar;
 import com.dukascopy.api.ITick;
 import com.dukascopy.api.Instrument;
 import com.dukascopy.api.OfferSide;
 import com.dukascopy.api.Period;
+import com.jforex.programming.quote.BarAggregator;
 import com.jforex.programming.quote.BarParams;
 import com.jforex.programming.quote.BarQuote;
 import com.jforex.programming.quote.BarQuoteProvider;
 import com.jforex.programming.quote.BarQuoteRepository;
+import com.jforex.programming.quote.QuoteRecorder;
+import com.jforex.programming.quote.TickHistoryRepository;
 import com.jforex.programming.quote.TickQuote;
 import com.jforex.programming.quote.TickQuoteProvider;
 import com.jforex.programming.quote.TickQuoteRepository;
@@ -19,23 +25,35 @@ import com.jforex.programming.rx.JFHotPublisher;
 public class QuoteUtil {
 
     private final ContextUtil contextUtil;
+    private final MarketHoursCalendar marketHoursCalendar;
     private final TickQuoteProvider tickQuoteProvider;
     private final TickQuoteRepository tickQuoteRepository;
+    private final TickHistoryRepository tickHistoryRepository;
     private final BarQuoteProvider barQuoteProvider;
     private final BarQuoteRepository barQuoteRepository;
+    private final BarAggregator barAggregator;
     private final boolean isWeekendQuoteFilter;
+    private final boolean isBarAggregationFromTicks;
     private final JFHotPublisher<TickQuote> tickQuotePublisher = new JFHotPublisher<>();
     private final JFHotPublisher<BarQuote> barQuotePublisher = new JFHotPublisher<>();
 
     public QuoteUtil(final ContextUtil contextUtil,
-                     final boolean isWeekendQuoteFilter) {
+                     final boolean isWeekendQuoteFilter,
+                     final boolean isBarAggregationFromTicks) {
         this.contextUtil = contextUtil;
+        marketHoursCalendar = contextUtil.marketHoursCalendar();
         this.isWeekendQuoteFilter = isWeekendQuoteFilter;
+        this.isBarAggregationFromTicks = isBarAggregationFromTicks;
         tickQuoteRepository = new TickQuoteRepository(tickQuotePublisher.observable(),
                                                       contextUtil.historyUtil(),
                                                       contextUtil.context().getSubscribedInstruments());
-        tickQuoteProvider = new TickQuoteProvider(tickQuotePublisher.observable(), tickQuoteRepository);
+        tickHistoryRepository = new TickHistoryRepository(tickQuotePublisher.observable(),
+                                                          contextUtil.context().getSubscribedInstruments());
+        tickQuoteProvider = new TickQuoteProvider(tickQuotePublisher.observable(),
+                                                  tickQuoteRepository,
+                                                  tickHistoryRepository);
         barQuoteRepository = new BarQuoteRepository(barQuotePublisher.observable(), contextUtil.historyUtil());
+        barAggregator = new BarAggregator(tickQuotePublisher.observable(), this::onBarQuote);
         barQuoteProvider = new BarQuoteProvider(this,
                                                 barQuotePublisher.observable(),
                                                 barQuoteRepository);
@@ -59,7 +77,7 @@ public class QuoteUtil {
 
     private boolean shouldForwardQuote(final long time) {
         return !isWeekendQuoteFilter
-                || !contextUtil.isMarketClosedAtTime(time);
+                || !marketHoursCalendar.isOfflineTime(time);
     }
 
     public void onBar(final Instrument instrument,
@@ -85,18 +103,33 @@ public class QuoteUtil {
                                        final Period period,
                                        final OfferSide offerside,
                                        final IBar bar) {
-        if (shouldForwardQuote(bar.getTime())) {
-            final BarParams quoteParams = BarParams
-                .forInstrument(instrument)
-                .period(period)
-                .offerSide(offerside);
-            final BarQuote barQuote = new BarQuote(bar, quoteParams);
+        final BarParams quoteParams = BarParams
+            .forInstrument(instrument)
+            .period(period)
+            .offerSide(offerside);
+        onBarQuote(new BarQuote(bar, quoteParams));
+    }
+
+    public void onBarQuote(final BarQuote barQuote) {
+        if (shouldForwardQuote(barQuote.bar().getTime()))
             barQuotePublisher.onNext(barQuote);
-        }
     }
 
     public void initBarsFeed(final BarParams barParams) {
-        contextUtil.initBarsFeed(barParams, this::onOfferSidedBar);
+        if (isBarAggregationFromTicks && BarAggregator.canAggregate(barParams.period()))
+            aggregateBars(barParams);
+        else
+            contextUtil.initBarsFeed(barParams, this::onOfferSidedBar);
+    }
+
+    public void aggregateBars(final BarParams barParams) {
+        barAggregator.register(barParams);
+    }
+
+    public QuoteRecorder recordQuotes(final Path directory) throws IOException {
+        return new QuoteRecorder(directory,
+                                 tickQuotePublisher.observable(),
+                                 barQuotePublisher.observable());
     }
 
     public void onStop() {
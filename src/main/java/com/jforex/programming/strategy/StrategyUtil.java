@@ -2,6 +2,8 @@ package com.jforex.programming.strategy;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.Optional;
+
 import org.aeonbits.owner.ConfigFactory;
 import org.apache.commons.lang3.StringUtils;
 
@@ -19,6 +21,8 @@ import com.jforex.programming.math.CalculationUtil;
 import com.jforex.programming.misc.HistoryUtil;
 import com.jforex.programming.misc.StrategyThreadRunner;
 import com.jforex.programming.order.OrderUtil;
+import com.jforex.programming.order.call.OrderCallMetrics;
+import com.jforex.programming.order.task.RetryBudget;
 import com.jforex.programming.position.PositionUtil;
 import com.jforex.programming.quote.BarQuoteProvider;
 import com.jforex.programming.quote.TickQuoteProvider;
@@ -43,7 +47,9 @@ public class StrategyUtil {
         checkNotNull(context);
 
         contextUtil = new ContextUtil(context);
-        quoteUtil = new QuoteUtil(contextUtil, userSettings.enableWeekendQuoteFilter());
+        quoteUtil = new QuoteUtil(contextUtil,
+                                  userSettings.enableWeekendQuoteFilter(),
+                                  userSettings.aggregateBarsFromTicks());
         calculationUtil = new CalculationUtil(tickQuoteProvider());
         orderInitUtil = new OrderInitUtil(contextUtil,
                                           messagePublisher.observable(),
@@ -94,6 +100,14 @@ public class StrategyUtil {
         return orderInitUtil.strategyThreadRunner();
     }
 
+    public OrderCallMetrics orderCallMetrics() {
+        return orderInitUtil.orderCallMetrics();
+    }
+
+    public Optional<RetryBudget> retryBudget() {
+        return orderInitUtil.retryBudget();
+    }
+
     public InstrumentUtil instrumentUtil(final Instrument instrument) {
         checkNotNull(instrument);
 
@@ -90,7 +90,7 @@ public class HistoryUtilTest extends QuoteProviderForTest {
 
         historyUtil
             .tickQuotesObservable(instruments)
-            .subscribe(quote -> quotesByInstrument.put(quote.instrument(), quote));
+            .blockingSubscribe(quote -> quotesByInstrument.put(quote.instrument(), quote));
 
         assertThat(quotesByInstrument.size(), equalTo(2));
         assertThat(quotesByInstrument.get(instrumentEURUSD),
@@ -0,0 +1,71 @@
+package com.jforex.programming.misc.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import com.jforex.programming.misc.LatencyHistogram;
+
+public class LatencyHistogramTest {
+
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+
+    private static final long maxValue = (1L << 41) - 1L;
+
+    @Test
+    public void emptyHistogramReturnsZeroValues() {
+        assertThat(latencyHistogram.count(), equalTo(0L));
+        assertThat(latencyHistogram.percentile(99.0), equalTo(0L));
+        assertThat(latencyHistogram.mean(), equalTo(0.0));
+    }
+
+    @Test
+    public void smallValuesAreExact() {
+        for (long value = 1L; value <= 10L; ++value)
+            latencyHistogram.record(value);
+
+        assertThat(latencyHistogram.count(), equalTo(10L));
+        assertThat(latencyHistogram.percentile(50.0), equalTo(5L));
+        assertThat(latencyHistogram.max(), equalTo(10L));
+        assertThat(latencyHistogram.mean(), equalTo(5.5));
+    }
+
+    @Test
+    public void percentileOfLargeValuesIsWithinBucketPrecision() {
+        for (long value = 1L; value <= 100_000L; ++value)
+            latencyHistogram.record(value * 1000L);
+
+        final long median = latencyHistogram.percentile(50.0);
+        assertThat(median, greaterThanOrEqualTo(50_000_000L));
+        assertThat(median, lessThanOrEqualTo(50_000_000L + 50_000_000L / 16L));
+        assertThat(latencyHistogram.percentile(100.0), equalTo(100_000_000L));
+    }
+
+    @Test
+    public void negativeValuesAreRecordedAsZero() {
+        latencyHistogram.record(-5L);
+
+        assertThat(latencyHistogram.count(), equalTo(1L));
+        assertThat(latencyHistogram.max(), equalTo(0L));
+    }
+
+    @Test
+    public void hugeValuesAreClampedToLastBucket() {
+        latencyHistogram.record(Long.MAX_VALUE);
+
+        assertThat(latencyHistogram.percentile(50.0), equalTo(maxValue));
+        assertThat(latencyHistogram.max(), equalTo(maxValue));
+    }
+
+    @Test
+    public void meanOfHugeValuesDoesNotOverflow() {
+        latencyHistogram.record(Long.MAX_VALUE);
+        latencyHistogram.record(Long.MAX_VALUE);
+        latencyHistogram.record(Long.MAX_VALUE);
+
+        assertThat(latencyHistogram.mean(), equalTo((double) maxValue));
+    }
+}
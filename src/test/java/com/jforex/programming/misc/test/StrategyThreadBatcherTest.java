@@ -0,0 +1,118 @@
+package com.jforex.programming.misc.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+
+import com.dukascopy.api.IOrder;
+import com.jforex.programming.misc.StrategyThreadBatcher;
+import com.jforex.programming.test.common.CommonUtilForTest;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
+
+@RunWith(HierarchicalContextRunner.class)
+public class StrategyThreadBatcherTest extends CommonUtilForTest {
+
+    private StrategyThreadBatcher strategyThreadBatcher;
+
+    @Mock
+    private Callable<IOrder> callableMock;
+    @Captor
+    private ArgumentCaptor<Callable<Object>> batchCaptor;
+    private final TestScheduler testScheduler = new TestScheduler();
+    private static final long batchWindow = 5L;
+    private static final int maxBatchSize = 3;
+
+    @Before
+    public void setUp() throws Exception {
+        when(callableMock.call()).thenReturn(buyOrderEURUSD);
+
+        strategyThreadBatcher = new StrategyThreadBatcher(contextMock,
+                                                          batchWindow,
+                                                          maxBatchSize,
+                                                          testScheduler);
+    }
+
+    private TestObserver<IOrder> execute() {
+        return strategyThreadBatcher
+            .execute(callableMock)
+            .test();
+    }
+
+    private void runBatch() throws Exception {
+        verify(contextMock).executeTask(batchCaptor.capture());
+        batchCaptor.getValue().call();
+    }
+
+    @Test
+    public void noTaskBeforeBatchWindow() {
+        execute();
+        execute();
+
+        testScheduler.advanceTimeBy(batchWindow - 1L, TimeUnit.MILLISECONDS);
+
+        verify(contextMock, never()).executeTask(any());
+    }
+
+    @Test
+    public void commandsInWindowRunInOneTask() throws Exception {
+        final TestObserver<IOrder> firstObserver = execute();
+        final TestObserver<IOrder> secondObserver = execute();
+
+        testScheduler.advanceTimeBy(batchWindow, TimeUnit.MILLISECONDS);
+        runBatch();
+
+        verify(callableMock, times(2)).call();
+        firstObserver.assertValue(buyOrderEURUSD);
+        secondObserver.assertValue(buyOrderEURUSD);
+    }
+
+    @Test
+    public void fullBatchIsExecutedWithoutWaiting() throws Exception {
+        execute();
+        execute();
+        final TestObserver<IOrder> lastObserver = execute();
+
+        runBatch();
+
+        lastObserver.assertValue(buyOrderEURUSD);
+    }
+
+    @Test
+    public void failingCommandOnlyFailsItsObserver() throws Exception {
+        when(callableMock.call())
+            .thenThrow(jfException)
+            .thenReturn(buyOrderEURUSD);
+        final TestObserver<IOrder> failingObserver = execute();
+        final TestObserver<IOrder> secondObserver = execute();
+
+        testScheduler.advanceTimeBy(batchWindow, TimeUnit.MILLISECONDS);
+        runBatch();
+
+        failingObserver.assertError(jfException);
+        secondObserver.assertValue(buyOrderEURUSD);
+    }
+
+    @Test
+    public void contextErrorFailsQueuedCommands() {
+        final IllegalStateException contextError = new IllegalStateException("stopped");
+        when(contextMock.executeTask(any())).thenThrow(contextError);
+        final TestObserver<IOrder> observer = execute();
+
+        testScheduler.advanceTimeBy(batchWindow, TimeUnit.MILLISECONDS);
+
+        observer.assertError(contextError);
+        assertThat(observer.errorCount(), equalTo(1));
+    }
+}
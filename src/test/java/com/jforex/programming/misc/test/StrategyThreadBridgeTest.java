@@ -0,0 +1,133 @@
+package com.jforex.programming.misc.test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+
+import com.dukascopy.api.IOrder;
+import com.jforex.programming.misc.StrategyThreadBridge;
+import com.jforex.programming.test.common.CommonUtilForTest;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import io.reactivex.observers.TestObserver;
+
+@RunWith(HierarchicalContextRunner.class)
+public class StrategyThreadBridgeTest extends CommonUtilForTest {
+
+    private StrategyThreadBridge strategyThreadBridge;
+
+    @Mock
+    private Callable<IOrder> callableMock;
+    @Captor
+    private ArgumentCaptor<Callable<Object>> taskCaptor;
+
+    @Before
+    public void setUp() throws Exception {
+        CommonUtilForTest.setNotStrategyThread();
+        when(callableMock.call()).thenReturn(buyOrderEURUSD);
+
+        strategyThreadBridge = new StrategyThreadBridge(contextMock);
+    }
+
+    private TestObserver<IOrder> execute() {
+        return strategyThreadBridge
+            .execute(callableMock)
+            .test();
+    }
+
+    private void runTask() throws Exception {
+        verify(contextMock).executeTask(taskCaptor.capture());
+        taskCaptor.getValue().call();
+    }
+
+    @Test
+    public void whenNotSubscribedNoTaskIsExecuted() {
+        strategyThreadBridge.execute(callableMock);
+
+        verifyZeroInteractions(contextMock);
+    }
+
+    @Test
+    public void nothingIsEmittedBeforeTaskRuns() throws Exception {
+        final TestObserver<IOrder> testObserver = execute();
+
+        verify(contextMock).executeTask(any());
+        verifyZeroInteractions(callableMock);
+        testObserver.assertNoValues();
+        testObserver.assertNotComplete();
+    }
+
+    @Test
+    public void resultIsEmittedFromTask() throws Exception {
+        final TestObserver<IOrder> testObserver = execute();
+
+        runTask();
+
+        testObserver.assertValue(buyOrderEURUSD);
+    }
+
+    @Test
+    public void callableErrorIsEmitted() throws Exception {
+        when(callableMock.call()).thenThrow(jfException);
+        final TestObserver<IOrder> testObserver = execute();
+
+        runTask();
+
+        testObserver.assertError(jfException);
+    }
+
+    @Test
+    public void rejectedTaskErrorIsEmitted() {
+        when(contextMock.executeTask(any())).thenThrow(new RuntimeException());
+
+        execute().assertError(RuntimeException.class);
+    }
+
+    @Test
+    public void strategyThreadIsDetectedByName() {
+        CommonUtilForTest.setStrategyThread();
+
+        assertTrue(strategyThreadBridge.isStrategyThread());
+    }
+
+    @Test
+    public void nonStrategyThreadIsNotDetected() {
+        assertFalse(strategyThreadBridge.isStrategyThread());
+    }
+
+    public class AfterTaskRun {
+
+        @Before
+        public void setUp() throws Exception {
+            execute();
+            runTask();
+        }
+
+        @Test
+        public void threadOfTaskIsStrategyThread() {
+            assertTrue(strategyThreadBridge.isStrategyThread());
+        }
+
+        @Test
+        public void otherThreadIsNotStrategyThread() throws Exception {
+            final ExecutorService executorService = Executors.newSingleThreadExecutor();
+            try {
+                assertFalse(executorService
+                    .submit(strategyThreadBridge::isStrategyThread)
+                    .get());
+            } finally {
+                executorService.shutdown();
+            }
+        }
+    }
+}
@@ -10,6 +10,7 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 
 import com.dukascopy.api.IOrder;
+import com.jforex.programming.misc.StrategyThreadBridge;
 import com.jforex.programming.misc.StrategyThreadRunner;
 import com.jforex.programming.test.common.CommonUtilForTest;
 
@@ -236,4 +237,28 @@ public class StrategyThreadRunnerTest extends CommonUtilForTest {
             }
         }
     }
+
+    public class WithStrategyThreadBridge {
+
+        @Before
+        public void setUp() {
+            CommonUtilForTest.setNotStrategyThread();
+
+            strategyThreadRunner = new StrategyThreadRunner(contextMock, new StrategyThreadBridge(contextMock));
+            executeCallableCall.run();
+        }
+
+        @Test
+        public void futureIsNotAwaited() throws Exception {
+            verify(contextMock).executeTask(any());
+            verify(contextMock, never()).executeTask(callableMock);
+            verifyZeroInteractions(futureMock);
+        }
+
+        @Test
+        public void nothingIsEmittedBeforeTaskRuns() {
+            orderCallableSubscriber.assertNoValues();
+            orderCallableSubscriber.assertNotComplete();
+        }
+    }
 }
@@ -0,0 +1,208 @@
+package com.jforex.programming.order.event.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.jforex.programming.order.call.OrderCallReason;
+import com.jforex.programming.order.event.OrderCallReasonRing;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+
+@RunWith(HierarchicalContextRunner.class)
+public class OrderCallReasonRingTest {
+
+    private OrderCallReasonRing callReasonRing;
+
+    private static final OrderCallReason[] callReasons = OrderCallReason.values();
+
+    @Before
+    public void setUp() {
+        callReasonRing = new OrderCallReasonRing();
+    }
+
+    private OrderCallReason reasonAt(final int index) {
+        return callReasons[index % callReasons.length];
+    }
+
+    private void addReasons(final int noOfReasons) {
+        for (int i = 0; i < noOfReasons; ++i)
+            callReasonRing.add(reasonAt(i));
+    }
+
+    private void assertPolledInOrder(final int noOfReasons) {
+        for (int i = 0; i < noOfReasons; ++i)
+            assertThat(callReasonRing.poll(), equalTo(reasonAt(i)));
+        assertThat(callReasonRing.poll(), nullValue());
+    }
+
+    @Test
+    public void pollOnEmptyRingGivesNull() {
+        assertThat(callReasonRing.poll(), nullValue());
+    }
+
+    @Test
+    public void singleReasonIsPolledOnce() {
+        callReasonRing.add(OrderCallReason.CHANGE_SL);
+
+        assertThat(callReasonRing.poll(), equalTo(OrderCallReason.CHANGE_SL));
+        assertThat(callReasonRing.poll(), nullValue());
+    }
+
+    @Test
+    public void allReasonOrdinalsArePackedAndUnpacked() {
+        for (final OrderCallReason callReason : callReasons) {
+            callReasonRing.add(callReason);
+
+            assertThat(callReasonRing.poll(), equalTo(callReason));
+        }
+    }
+
+    @Test
+    public void reasonsArePolledOldestFirst() {
+        addReasons(5);
+
+        assertPolledInOrder(5);
+    }
+
+    @Test
+    public void interleavedAddAndPollKeepOrder() {
+        callReasonRing.add(OrderCallReason.CLOSE);
+        callReasonRing.add(OrderCallReason.CHANGE_TP);
+        assertThat(callReasonRing.poll(), equalTo(OrderCallReason.CLOSE));
+
+        callReasonRing.add(OrderCallReason.MERGE);
+
+        assertThat(callReasonRing.poll(), equalTo(OrderCallReason.CHANGE_TP));
+        assertThat(callReasonRing.poll(), equalTo(OrderCallReason.MERGE));
+        assertThat(callReasonRing.poll(), nullValue());
+    }
+
+    @Test
+    public void fullRingKeepsAllReasons() {
+        addReasons(OrderCallReasonRing.capacity);
+
+        assertPolledInOrder(OrderCallReasonRing.capacity);
+    }
+
+    @Test
+    public void firstReasonBeyondCapacityIsNotDropped() {
+        addReasons(OrderCallReasonRing.capacity + 1);
+
+        assertPolledInOrder(OrderCallReasonRing.capacity + 1);
+    }
+
+    @Test
+    public void manyReasonsBeyondCapacityAreNotDropped() {
+        addReasons(3 * OrderCallReasonRing.capacity);
+
+        assertPolledInOrder(3 * OrderCallReasonRing.capacity);
+    }
+
+    @Test
+    public void reasonsAddedWhileOverflowIsDrainedStayBehindOverflow() {
+        addReasons(OrderCallReasonRing.capacity + 2);
+        assertThat(callReasonRing.poll(), equalTo(reasonAt(0)));
+
+        callReasonRing.add(OrderCallReason.CHANGE_PRICE);
+
+        for (int i = 1; i < OrderCallReasonRing.capacity + 2; ++i)
+            assertThat(callReasonRing.poll(), equalTo(reasonAt(i)));
+        assertThat(callReasonRing.poll(), equalTo(OrderCallReason.CHANGE_PRICE));
+        assertThat(callReasonRing.poll(), nullValue());
+    }
+
+    @Test
+    public void ringIsUsableAgainAfterOverflowIsDrained() {
+        addReasons(OrderCallReasonRing.capacity + 3);
+        assertPolledInOrder(OrderCallReasonRing.capacity + 3);
+
+        addReasons(4);
+
+        assertPolledInOrder(4);
+    }
+
+    public class ConcurrentAccess {
+
+        private ExecutorService executor;
+
+        private static final int noOfReasonsPerProducer = 20000;
+
+        @Before
+        public void setUp() {
+            executor = Executors.newFixedThreadPool(3);
+        }
+
+        @After
+        public void tearDown() {
+            executor.shutdownNow();
+        }
+
+        private Callable<Void> producer(final OrderCallReason callReason) {
+            return () -> {
+                for (int i = 0; i < noOfReasonsPerProducer; ++i)
+                    callReasonRing.add(callReason);
+                return null;
+            };
+        }
+
+        private Callable<List<OrderCallReason>> consumer(final int noOfReasons) {
+            return () -> {
+                final List<OrderCallReason> polledReasons = new ArrayList<>(noOfReasons);
+                while (polledReasons.size() < noOfReasons && !Thread.currentThread().isInterrupted()) {
+                    final OrderCallReason callReason = callReasonRing.poll();
+                    if (callReason != null)
+                        polledReasons.add(callReason);
+                }
+                return polledReasons;
+            };
+        }
+
+        @Test
+        public void concurrentProducersLoseNoReason() throws Exception {
+            final Future<List<OrderCallReason>> polledReasons =
+                    executor.submit(consumer(2 * noOfReasonsPerProducer));
+            final Future<Void> slProducer = executor.submit(producer(OrderCallReason.CHANGE_SL));
+            final Future<Void> tpProducer = executor.submit(producer(OrderCallReason.CHANGE_TP));
+
+            slProducer.get(10L, TimeUnit.SECONDS);
+            tpProducer.get(10L, TimeUnit.SECONDS);
+            final Map<OrderCallReason, Integer> countByReason = new EnumMap<>(OrderCallReason.class);
+            polledReasons
+                .get(10L, TimeUnit.SECONDS)
+                .forEach(callReason -> countByReason.merge(callReason, 1, Integer::sum));
+
+            assertThat(countByReason.get(OrderCallReason.CHANGE_SL), equalTo(noOfReasonsPerProducer));
+            assertThat(countByReason.get(OrderCallReason.CHANGE_TP), equalTo(noOfReasonsPerProducer));
+            assertThat(callReasonRing.poll(), nullValue());
+        }
+
+        @Test
+        public void singleProducerOrderIsKeptUnderConcurrentPolling() throws Exception {
+            final Future<List<OrderCallReason>> polledReasons =
+                    executor.submit(consumer(noOfReasonsPerProducer));
+            executor
+                .submit(() -> addReasons(noOfReasonsPerProducer))
+                .get(10L, TimeUnit.SECONDS);
+
+            final List<OrderCallReason> reasons = polledReasons.get(10L, TimeUnit.SECONDS);
+            for (int i = 0; i < noOfReasonsPerProducer; ++i)
+                assertThat(reasons.get(i), equalTo(reasonAt(i)));
+        }
+    }
+}
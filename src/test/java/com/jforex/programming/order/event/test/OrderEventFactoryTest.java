@@ -5,6 +5,8 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Collections;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -12,6 +14,7 @@ import org.junit.runner.RunWith;
 import com.dukascopy.api.IEngine.OrderCommand;
 import com.dukascopy.api.IMessage;
 import com.dukascopy.api.IOrder;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.jforex.programming.order.call.OrderCallReason;
 import com.jforex.programming.order.call.OrderCallRequest;
@@ -295,6 +298,18 @@ public class OrderEventFactoryTest extends CommonUtilForTest {
                                                       OrderEventType.CHANGE_TP_REJECTED);
     }
 
+    @Test
+    public void pendingChangeRejectsAreRefinedInCallOrder() {
+        registerCallRequest(OrderCallReason.CHANGE_SL);
+        registerCallRequest(OrderCallReason.CHANGE_TP);
+        registerCallRequest(OrderCallReason.CHANGE_GTT);
+
+        assertCorrectMapping(OrderEventType.CHANGE_SL_REJECTED, IMessage.Type.ORDER_CHANGED_REJECTED);
+        assertCorrectMapping(OrderEventType.CHANGE_TP_REJECTED, IMessage.Type.ORDER_CHANGED_REJECTED);
+        assertCorrectMapping(OrderEventType.CHANGE_GTT_REJECTED, IMessage.Type.ORDER_CHANGED_REJECTED);
+        assertCorrectMapping(OrderEventType.CHANGED_REJECTED, IMessage.Type.ORDER_CHANGED_REJECTED);
+    }
+
     @Test
     public void notRegisteredOrderGetsOnlyChangeRejected() {
         registerCallRequest(OrderCallReason.CHANGE_LABEL);
@@ -318,6 +333,26 @@ public class OrderEventFactoryTest extends CommonUtilForTest {
         assertFalse(actualEvent.isInternal());
     }
 
+    @Test
+    public void importedOrderWithoutPendingReasonsStaysExternal() {
+        orderEventFactory.restoreCallReasons(orderForTest, Collections.emptyList());
+
+        final OrderEvent orderEvent = orderEventFactory.fromMessage(createMessage(IMessage.Type.ORDER_CHANGED_OK,
+                                                                                  IMessage.Reason.ORDER_CHANGED_SL));
+
+        assertFalse(orderEvent.isInternal());
+    }
+
+    @Test
+    public void restoredCallReasonsMakeOrderInternal() {
+        orderEventFactory.restoreCallReasons(orderForTest, Lists.newArrayList(OrderCallReason.CHANGE_TP));
+
+        final OrderEvent orderEvent = orderEventFactory.fromMessage(createMessage(IMessage.Type.ORDER_CHANGED_REJECTED));
+
+        assertTrue(orderEvent.isInternal());
+        assertThat(orderEvent.type(), equalTo(OrderEventType.CHANGE_TP_REJECTED));
+    }
+
     public class MultipleCallRequestsRegistered {
 
         private OrderEvent getEvent(final IMessage.Type messageType,
@@ -2,6 +2,7 @@ package com.jforex.programming.order.event.test;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.junit.runner.RunWith;
 import org.mockito.Mock;
 
 import com.dukascopy.api.IMessage;
@@ -11,10 +12,12 @@ import com.jforex.programming.order.event.OrderEventFactory;
 import com.jforex.programming.order.event.OrderEventGateway;
 import com.jforex.programming.test.common.CommonUtilForTest;
 
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
 import io.reactivex.observers.TestObserver;
 import io.reactivex.subjects.PublishSubject;
 import io.reactivex.subjects.Subject;
 
+@RunWith(HierarchicalContextRunner.class)
 public class OrderEventGatewayTest extends CommonUtilForTest {
 
     private OrderEventGateway orderEventGateway;
@@ -77,4 +80,51 @@ public class OrderEventGatewayTest extends CommonUtilForTest {
             .assertNoErrors()
             .assertValue(submitEvent);
     }
+
+    public class ObservableForOrder {
+
+        private TestObserver<OrderEvent> orderSubscriber;
+
+        @Before
+        public void setUp() {
+            orderSubscriber = orderEventGateway
+                .observableForOrder(buyOrderEURUSD)
+                .test();
+        }
+
+        @Test
+        public void eventForOrderIsDelivered() {
+            when(orderEventMapperMock.fromMessage(any()))
+                .thenReturn(changedRejectEvent);
+
+            messageSubject.onNext(message);
+
+            orderSubscriber
+                .assertNoErrors()
+                .assertValue(changedRejectEvent);
+        }
+
+        @Test
+        public void eventForOtherOrderIsNotDelivered() {
+            orderEventGateway.importOrder(sellOrderEURUSD);
+
+            orderSubscriber.assertNoValues();
+        }
+
+        @Test
+        public void importedOrderIsDelivered() {
+            orderEventGateway.importOrder(buyOrderEURUSD);
+
+            orderSubscriber.assertValue(submitEvent);
+        }
+
+        @Test
+        public void noEventIsDeliveredAfterDispose() {
+            orderSubscriber.dispose();
+
+            orderEventGateway.importOrder(buyOrderEURUSD);
+
+            orderSubscriber.assertNoValues();
+        }
+    }
 }
@@ -0,0 +1,96 @@
+package com.jforex.programming.order.event.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jforex.programming.order.event.OrderEventJournal;
+import com.jforex.programming.test.common.CommonUtilForTest;
+
+public class OrderEventJournalTest extends CommonUtilForTest {
+
+    private OrderEventJournal orderEventJournal;
+
+    @Before
+    public void setUp() {
+        orderEventJournal = new OrderEventJournal(4);
+    }
+
+    @After
+    public void tearDown() {
+        orderEventJournal.stop();
+    }
+
+    @Test
+    public void orderFieldsAreCopiedOnRecord() {
+        orderEventJournal.onOrderEvent(submitEvent);
+
+        verify(buyOrderEURUSD).getLabel();
+        verify(buyOrderEURUSD).getInstrument();
+    }
+
+    @Test
+    public void nothingIsRecordedAfterStop() {
+        orderEventJournal.stop();
+
+        orderEventJournal.onImportedOrder(submitEvent);
+
+        verify(buyOrderEURUSD, never()).getLabel();
+        assertThat(orderEventJournal.droppedCount(), equalTo(0L));
+    }
+
+    @Test
+    public void writerIsStartedOnceWithFirstRecord() {
+        final List<Runnable> writers = new ArrayList<>();
+        final OrderEventJournal journal = new OrderEventJournal(2, writers::add);
+
+        journal.onOrderEvent(submitEvent);
+        journal.onOrderEvent(submitEvent);
+
+        assertThat(writers.size(), equalTo(1));
+    }
+
+    @Test
+    public void eventIsDroppedWhenNoRecordIsFree() {
+        final List<Runnable> writers = new ArrayList<>();
+        final OrderEventJournal journal = new OrderEventJournal(2, writers::add);
+
+        journal.onOrderEvent(submitEvent);
+        journal.onImportedOrder(submitEvent);
+        journal.onOrderEvent(submitEvent);
+
+        assertThat(journal.pendingCount(), equalTo(2));
+        assertThat(journal.droppedCount(), equalTo(1L));
+    }
+
+    @Test
+    public void pendingRecordsAreWrittenAsynchronously() throws InterruptedException {
+        final List<Runnable> writers = new ArrayList<>();
+        final OrderEventJournal journal = new OrderEventJournal(2, writers::add);
+        journal.onOrderEvent(submitEvent);
+        journal.onImportedOrder(submitEvent);
+
+        final Thread writerThread = new Thread(writers.get(0));
+        writerThread.start();
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5L);
+        while (journal.pendingCount() > 0 && System.nanoTime() - deadline < 0L)
+            Thread.sleep(1L);
+
+        assertThat(journal.pendingCount(), equalTo(0));
+        assertTrue(writerThread.isAlive());
+
+        journal.stop();
+        writerThread.join(TimeUnit.SECONDS.toMillis(5L));
+
+        assertFalse(writerThread.isAlive());
+    }
+}
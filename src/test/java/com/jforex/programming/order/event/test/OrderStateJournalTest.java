@@ -0,0 +1,289 @@
+package com.jforex.programming.order.event.test;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import com.dukascopy.api.IOrder;
+import com.jforex.programming.order.call.OrderCallReason;
+import com.jforex.programming.order.call.OrderCallRequest;
+import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.event.OrderEventType;
+import com.jforex.programming.order.event.OrderStateJournal;
+import com.jforex.programming.test.common.CommonUtilForTest;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+
+@RunWith(HierarchicalContextRunner.class)
+public class OrderStateJournalTest extends CommonUtilForTest {
+
+    private OrderStateJournal orderStateJournal;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+    private Path directory;
+    private final IOrder orderForTest = buyOrderEURUSD;
+    private final String label = orderForTest.getLabel();
+
+    @Before
+    public void setUp() throws IOException {
+        directory = temporaryFolder.getRoot().toPath();
+        orderStateJournal = open(100);
+    }
+
+    private OrderStateJournal open(final int snapshotInterval) throws IOException {
+        return new OrderStateJournal(directory,
+                                     snapshotInterval,
+                                     Runnable::run);
+    }
+
+    private OrderStateJournal reopen(final OrderStateJournal journal) throws IOException {
+        journal.close();
+        return open(100);
+    }
+
+    private void callRequest(final OrderCallReason callReason) {
+        orderStateJournal.onCallRequest(new OrderCallRequest(orderForTest, callReason));
+    }
+
+    private OrderEvent internalEvent(final OrderEventType type) {
+        return new OrderEvent(orderForTest,
+                              messageMock,
+                              type,
+                              true);
+    }
+
+    private void submitInternalOrderWithPendingChange() {
+        callRequest(OrderCallReason.SUBMIT);
+        orderStateJournal.onOrderEvent(internalEvent(OrderEventType.SUBMIT_OK));
+        callRequest(OrderCallReason.CHANGE_SL);
+    }
+
+    @Test
+    public void newJournalHasNoPendingCallReasons() {
+        assertThat(orderStateJournal.pendingCallReasons(label), empty());
+    }
+
+    @Test
+    public void externalOrderIsNotJournaled() throws IOException {
+        orderStateJournal.onOrderEvent(new OrderEvent(orderForTest,
+                                                      messageMock,
+                                                      OrderEventType.SUBMIT_OK,
+                                                      false));
+
+        orderStateJournal = reopen(orderStateJournal);
+
+        assertThat(orderStateJournal.pendingCallReasons(label), empty());
+    }
+
+    @Test
+    public void importedOrderConsumesNoCallReason() throws IOException {
+        callRequest(OrderCallReason.CHANGE_TP);
+        orderStateJournal.onOrderEvent(new OrderEvent(orderForTest,
+                                                      null,
+                                                      OrderEventType.SUBMIT_OK,
+                                                      true));
+
+        orderStateJournal = reopen(orderStateJournal);
+
+        assertThat(orderStateJournal.pendingCallReasons(label), contains(OrderCallReason.CHANGE_TP));
+    }
+
+    @Test
+    public void pendingCallReasonsAreNotBounded() throws IOException {
+        for (int i = 0; i < 300; ++i)
+            callRequest(OrderCallReason.CHANGE_SL);
+        callRequest(OrderCallReason.CHANGE_TP);
+
+        orderStateJournal = reopen(orderStateJournal);
+
+        final List<OrderCallReason> pendingCallReasons = orderStateJournal.pendingCallReasons(label);
+        assertThat(pendingCallReasons, hasSize(301));
+        assertThat(pendingCallReasons.get(300), equalTo(OrderCallReason.CHANGE_TP));
+        assertThat(pendingCallReasons.subList(0, 300), everyItem(equalTo(OrderCallReason.CHANGE_SL)));
+    }
+
+    @Test
+    public void journalIsReplayedWithoutClose() throws IOException {
+        submitInternalOrderWithPendingChange();
+
+        final OrderStateJournal restoredJournal = open(100);
+
+        assertThat(restoredJournal.pendingCallReasons(label), contains(OrderCallReason.CHANGE_SL));
+    }
+
+    @Test
+    public void snapshotsAreTakenAtInterval() throws IOException {
+        orderStateJournal.close();
+        orderStateJournal = open(1);
+        submitInternalOrderWithPendingChange();
+
+        final OrderStateJournal restoredJournal = open(1);
+
+        assertThat(restoredJournal.pendingCallReasons(label), contains(OrderCallReason.CHANGE_SL));
+    }
+
+    @Test
+    public void recordsOfReusedJournalFileAreNotReplayed() throws IOException {
+        orderStateJournal.close();
+        orderStateJournal = open(3);
+        for (int i = 0; i < 6; ++i)
+            callRequest(OrderCallReason.CHANGE_SL);
+        callRequest(OrderCallReason.CHANGE_TP);
+
+        final OrderStateJournal restoredJournal = open(100);
+
+        final List<OrderCallReason> pendingCallReasons = restoredJournal.pendingCallReasons(label);
+        assertThat(pendingCallReasons, hasSize(7));
+        assertThat(pendingCallReasons.get(6), equalTo(OrderCallReason.CHANGE_TP));
+    }
+
+    public class WithPendingSnapshotWrite {
+
+        private final List<Runnable> snapshotWrites = new ArrayList<>();
+
+        @Before
+        public void setUp() throws IOException {
+            orderStateJournal.close();
+            orderStateJournal = new OrderStateJournal(directory,
+                                                      1,
+                                                      snapshotWrites::add);
+            submitInternalOrderWithPendingChange();
+        }
+
+        @Test
+        public void snapshotIsWrittenByExecutor() {
+            assertThat(snapshotWrites, hasSize(1));
+        }
+
+        @Test
+        public void journalsKeepStateUntilSnapshotIsWritten() throws IOException {
+            final OrderStateJournal restoredJournal = open(100);
+
+            assertThat(restoredJournal.pendingCallReasons(label), contains(OrderCallReason.CHANGE_SL));
+        }
+
+        @Test
+        public void closeWritesFinalSnapshot() throws IOException {
+            snapshotWrites.forEach(Runnable::run);
+
+            orderStateJournal = reopen(orderStateJournal);
+
+            assertThat(orderStateJournal.pendingCallReasons(label), contains(OrderCallReason.CHANGE_SL));
+        }
+    }
+
+    public class WithCorruptFiles {
+
+        private final byte[] garbage = new byte[64];
+
+        @Before
+        public void setUp() throws IOException {
+            submitInternalOrderWithPendingChange();
+            orderStateJournal.close();
+            Arrays.fill(garbage, (byte) 0x7F);
+        }
+
+        private void writeGarbageToJournals() throws IOException {
+            Files.write(directory.resolve("orders-0.journal"), garbage);
+            Files.write(directory.resolve("orders-1.journal"), garbage);
+        }
+
+        @Test
+        public void corruptJournalIsIgnored() throws IOException {
+            writeGarbageToJournals();
+
+            orderStateJournal = open(100);
+
+            assertThat(orderStateJournal.pendingCallReasons(label), contains(OrderCallReason.CHANGE_SL));
+        }
+
+        @Test
+        public void corruptSnapshotIsDiscarded() throws IOException {
+            Files.write(directory.resolve("orders.snapshot"), garbage);
+
+            orderStateJournal = open(100);
+
+            assertThat(orderStateJournal.pendingCallReasons(label), empty());
+        }
+
+        @Test
+        public void truncatedSnapshotIsDiscarded() throws IOException {
+            final Path snapshotFile = directory.resolve("orders.snapshot");
+            final byte[] snapshot = Files.readAllBytes(snapshotFile);
+            Files.write(snapshotFile, Arrays.copyOf(snapshot, snapshot.length - 3));
+
+            orderStateJournal = open(100);
+
+            assertThat(orderStateJournal.pendingCallReasons(label), empty());
+        }
+
+        @Test
+        public void journalIsWritableAfterDiscard() throws IOException {
+            writeGarbageToJournals();
+            Files.write(directory.resolve("orders.snapshot"), garbage);
+            orderStateJournal = open(100);
+
+            submitInternalOrderWithPendingChange();
+            orderStateJournal = reopen(orderStateJournal);
+
+            assertThat(orderStateJournal.pendingCallReasons(label), contains(OrderCallReason.CHANGE_SL));
+        }
+    }
+
+    public class AfterInternalSubmit {
+
+        @Before
+        public void setUp() {
+            submitInternalOrderWithPendingChange();
+        }
+
+        @Test
+        public void submitReasonIsConsumed() {
+            assertThat(orderStateJournal.pendingCallReasons(label), contains(OrderCallReason.CHANGE_SL));
+        }
+
+        @Test
+        public void stateIsRestoredAfterRestart() throws IOException {
+            orderStateJournal = reopen(orderStateJournal);
+
+            assertThat(orderStateJournal.pendingCallReasons(label), contains(OrderCallReason.CHANGE_SL));
+        }
+
+        @Test
+        public void doneEventConsumesLastReason() throws IOException {
+            orderStateJournal.onOrderEvent(internalEvent(OrderEventType.CHANGED_SL));
+
+            orderStateJournal = reopen(orderStateJournal);
+
+            assertThat(orderStateJournal.pendingCallReasons(label), empty());
+        }
+
+        @Test
+        public void closedOrderIsRemoved() throws IOException {
+            callRequest(OrderCallReason.CHANGE_TP);
+            orderUtilForTest.setState(orderForTest, IOrder.State.CLOSED);
+            orderStateJournal.onOrderEvent(internalEvent(OrderEventType.CLOSE_OK));
+
+            orderStateJournal = reopen(orderStateJournal);
+
+            assertThat(orderStateJournal.pendingCallReasons(label), empty());
+        }
+    }
+}
@@ -9,6 +9,9 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
+import com.dukascopy.api.IOrder;
+import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.event.OrderEventType;
 import com.jforex.programming.order.task.params.ComposeDataImpl;
 import com.jforex.programming.order.task.params.RetryParams;
 import com.jforex.programming.test.common.CommonUtilForTest;
@@ -27,6 +30,8 @@ public class ComposeDataImplTest extends CommonUtilForTest {
     private Consumer<Throwable> errorConsumerMock;
     @Mock
     private RetryParams retryParamsMock;
+    @Mock
+    private Consumer<OrderEvent> eventConsumerMock;
 
     @Before
     public void setUp() {
@@ -56,4 +61,39 @@ public class ComposeDataImplTest extends CommonUtilForTest {
         assertThat(composeDataImpl.errorConsumer(), equalTo(errorConsumerMock));
         assertThat(composeDataImpl.retryParams(), equalTo(retryParamsMock));
     }
+
+    @Test
+    public void defaultValuesHaveNoCallbacks() {
+        assertThat(composeDataImpl.hasCallbacks(), equalTo(false));
+        assertThat(composeDataImpl.hasEventConsumers(), equalTo(false));
+    }
+
+    @Test
+    public void startActionIsACallback() {
+        composeDataImpl.setStartAction(startActionMock);
+
+        assertThat(composeDataImpl.hasCallbacks(), equalTo(true));
+    }
+
+    @Test
+    public void eventIsDispatchedToConsumerOfItsType() {
+        final IOrder order = buyOrderEURUSD;
+        final OrderEvent closeOKEvent = new OrderEvent(order,
+                                                       messageMock,
+                                                       OrderEventType.CLOSE_OK,
+                                                       true);
+        final OrderEvent closeRejectedEvent = new OrderEvent(order,
+                                                             messageMock,
+                                                             OrderEventType.CLOSE_REJECTED,
+                                                             true);
+        composeDataImpl.setEventConsumer(OrderEventType.CLOSE_OK, eventConsumerMock);
+
+        composeDataImpl.acceptEvent(closeOKEvent);
+        composeDataImpl.acceptEvent(closeRejectedEvent);
+
+        verify(eventConsumerMock).accept(closeOKEvent);
+        verifyNoMoreInteractions(eventConsumerMock);
+        assertThat(composeDataImpl.hasEventConsumers(), equalTo(true));
+        assertThat(composeDataImpl.consumerByEventType().get(OrderEventType.CLOSE_OK), equalTo(eventConsumerMock));
+    }
 }
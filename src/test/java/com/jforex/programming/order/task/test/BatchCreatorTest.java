@@ -1,6 +1,10 @@
 package com.jforex.programming.order.task.test;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import org.junit.Before;
@@ -19,6 +23,8 @@ import com.jforex.programming.test.common.InstrumentUtilForTest;
 import de.bechte.junit.runners.context.HierarchicalContextRunner;
 import io.reactivex.Observable;
 import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subjects.PublishSubject;
 
 @RunWith(HierarchicalContextRunner.class)
 public class BatchCreatorTest extends InstrumentUtilForTest {
@@ -29,10 +35,14 @@ public class BatchCreatorTest extends InstrumentUtilForTest {
     private Function<IOrder, Observable<OrderEvent>> composerFunctionMock;
     private TestObserver<OrderEvent> testObserver;
     private final List<IOrder> ordersForBatch = Lists.newArrayList(buyOrderEURUSD, sellOrderEURUSD);
+    private final TestScheduler testScheduler = new TestScheduler();
+    private static final int maxConcurrency = 1;
 
     @Before
     public void setUp() {
-        batchCreator = new BatchCreator();
+        batchCreator = new BatchCreator(maxConcurrency,
+                                        0L,
+                                        testScheduler);
     }
 
     private void setupFunctionMock(final Observable<OrderEvent> buyObservable,
@@ -90,4 +100,129 @@ public class BatchCreatorTest extends InstrumentUtilForTest {
         testObserver.assertNotComplete();
         testObserver.assertValue(closeRejectEvent);
     }
+
+    @Test
+    public void boundedMergeStartsNoMoreThanMaxConcurrency() {
+        setupFunctionMock(neverObservable(), eventObservable(closeRejectEvent));
+
+        subscribeWithBatchMode(BatchMode.BOUNDED_MERGE);
+
+        testObserver.assertNotComplete();
+        testObserver.assertNoValues();
+    }
+
+    @Test
+    public void eventsForBoundedMergeAreReceived() {
+        setupFunctionMock(eventObservable(closeEvent), eventObservable(closeRejectEvent));
+
+        subscribeWithBatchMode(BatchMode.BOUNDED_MERGE);
+
+        testObserver.assertComplete();
+        testObserver.assertValues(closeEvent, closeRejectEvent);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void taskRateAboveOnePerNanoIsRejected() {
+        new BatchCreator(maxConcurrency,
+                         TimeUnit.SECONDS.toNanos(1L) + 1L,
+                         testScheduler);
+    }
+
+    public class WithRateLimit {
+
+        private final long tasksPerSecond = 10L;
+
+        @Before
+        public void setUp() {
+            batchCreator = new BatchCreator(2,
+                                            tasksPerSecond,
+                                            testScheduler);
+            setupFunctionMock(eventObservable(closeEvent), eventObservable(closeRejectEvent));
+
+            subscribeWithBatchMode(BatchMode.BOUNDED_MERGE);
+        }
+
+        @Test
+        public void firstTaskStartsImmediately() {
+            testScheduler.triggerActions();
+
+            testObserver.assertValue(closeEvent);
+            testObserver.assertNotComplete();
+        }
+
+        @Test
+        public void nextTaskStartsAfterTaskInterval() {
+            testScheduler.advanceTimeBy(1000L / tasksPerSecond, TimeUnit.MILLISECONDS);
+
+            testObserver.assertValues(closeEvent, closeRejectEvent);
+            testObserver.assertComplete();
+        }
+
+        public class WhenConcurrencyIsSaturated {
+
+            private final PublishSubject<OrderEvent> firstTask = PublishSubject.create();
+            private final PublishSubject<OrderEvent> secondTask = PublishSubject.create();
+            private final PublishSubject<OrderEvent> thirdTask = PublishSubject.create();
+            private final PublishSubject<OrderEvent> fourthTask = PublishSubject.create();
+
+            @Before
+            public void setUp() {
+                batchCreator = new BatchCreator(2,
+                                                tasksPerSecond,
+                                                testScheduler);
+                when(composerFunctionMock.apply(any()))
+                    .thenReturn(firstTask, secondTask, thirdTask, fourthTask);
+
+                testObserver = batchCreator
+                    .create(Lists.newArrayList(buyOrderEURUSD,
+                                               sellOrderEURUSD,
+                                               buyOrderAUDUSD,
+                                               sellOrderAUDUSD),
+                            BatchMode.BOUNDED_MERGE,
+                            composerFunctionMock)
+                    .test();
+                testScheduler.advanceTimeBy(1000L / tasksPerSecond, TimeUnit.MILLISECONDS);
+            }
+
+            @Test
+            public void noMoreThanMaxConcurrencyTasksAreStarted() {
+                testScheduler.advanceTimeBy(1L, TimeUnit.SECONDS);
+
+                assertTrue(firstTask.hasObservers());
+                assertTrue(secondTask.hasObservers());
+                assertFalse(thirdTask.hasObservers());
+                assertFalse(fourthTask.hasObservers());
+            }
+
+            @Test
+            public void admittedTasksAreStillPaced() {
+                testScheduler.advanceTimeBy(1L, TimeUnit.SECONDS);
+
+                firstTask.onComplete();
+                secondTask.onComplete();
+
+                assertTrue(thirdTask.hasObservers());
+                assertFalse(fourthTask.hasObservers());
+
+                testScheduler.advanceTimeBy(1000L / tasksPerSecond - 1L, TimeUnit.MILLISECONDS);
+                assertFalse(fourthTask.hasObservers());
+
+                testScheduler.advanceTimeBy(1L, TimeUnit.MILLISECONDS);
+                assertTrue(fourthTask.hasObservers());
+            }
+
+            @Test
+            public void batchCompletesWhenAllTasksComplete() {
+                firstTask.onComplete();
+                secondTask.onComplete();
+                thirdTask.onComplete();
+                testScheduler.advanceTimeBy(1000L / tasksPerSecond, TimeUnit.MILLISECONDS);
+                testObserver.assertNotComplete();
+
+                fourthTask.onComplete();
+                testScheduler.advanceTimeBy(1000L / tasksPerSecond, TimeUnit.MILLISECONDS);
+                testObserver.assertComplete();
+            }
+        }
+    }
 }
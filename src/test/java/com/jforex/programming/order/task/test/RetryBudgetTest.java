@@ -0,0 +1,172 @@
+package com.jforex.programming.order.task.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.jforex.programming.order.task.RetryBudget;
+import com.jforex.programming.order.task.RetryBudget.CircuitState;
+import com.jforex.programming.rx.RetryDelay;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+
+@RunWith(HierarchicalContextRunner.class)
+public class RetryBudgetTest {
+
+    private RetryBudget retryBudget;
+    private long now = 1000L;
+    private static final int maxTokens = 2;
+    private static final double tokensPerSecond = 1.0;
+    private static final long maxDelayMillis = 1000L;
+    private static final int rejectThreshold = 3;
+    private static final long rejectWindowMillis = 100L;
+    private static final long circuitOpenMillis = 500L;
+
+    @Before
+    public void setUp() {
+        retryBudget = new RetryBudget(maxTokens,
+                                      tokensPerSecond,
+                                      maxDelayMillis,
+                                      rejectThreshold,
+                                      rejectWindowMillis,
+                                      circuitOpenMillis,
+                                      () -> now);
+    }
+
+    private void advanceMillis(final long millis) {
+        now += TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    private void reject(final int noOfRejects) {
+        for (int i = 0; i < noOfRejects; ++i)
+            retryBudget.onReject();
+    }
+
+    @Test
+    public void retriesAreGrantedUntilTokensAreUsed() {
+        assertTrue(retryBudget.tryAcquireRetry());
+        assertTrue(retryBudget.tryAcquireRetry());
+        assertFalse(retryBudget.tryAcquireRetry());
+
+        assertThat(retryBudget.grantedRetries(), equalTo(2L));
+        assertThat(retryBudget.deniedRetries(), equalTo(1L));
+    }
+
+    @Test
+    public void tokensAreRefilled() {
+        retryBudget.tryAcquireRetry();
+        retryBudget.tryAcquireRetry();
+
+        advanceMillis(1000L);
+
+        assertTrue(retryBudget.tryAcquireRetry());
+    }
+
+    @Test
+    public void backoffAddsJitterAboveRetryDelay() {
+        final RetryDelay retryDelay = new RetryDelay(100L, TimeUnit.MILLISECONDS);
+
+        for (int i = 0; i < 100; ++i) {
+            final RetryDelay backoffDelay = retryBudget.backoff(retryDelay);
+
+            assertThat(backoffDelay.timeUnit(), equalTo(TimeUnit.MILLISECONDS));
+            assertThat(backoffDelay.delay(), greaterThanOrEqualTo(100L));
+            assertThat(backoffDelay.delay(), lessThanOrEqualTo(150L));
+        }
+    }
+
+    @Test
+    public void backoffConvertsRetryDelayToMillis() {
+        final RetryDelay retryDelay = new RetryDelay(0L, TimeUnit.SECONDS);
+
+        assertThat(retryBudget.backoff(retryDelay).delay(), equalTo(0L));
+    }
+
+    @Test
+    public void jitterIsCappedAtMaxDelay() {
+        final RetryDelay retryDelay = new RetryDelay(maxDelayMillis - 10L, TimeUnit.MILLISECONDS);
+
+        for (int i = 0; i < 100; ++i)
+            assertThat(retryBudget.backoff(retryDelay).delay(), lessThanOrEqualTo(maxDelayMillis));
+    }
+
+    @Test
+    public void retryDelayAboveMaxDelayIsKept() {
+        final RetryDelay retryDelay = new RetryDelay(2L, TimeUnit.SECONDS);
+
+        assertThat(retryBudget.backoff(retryDelay).delay(), equalTo(2000L));
+    }
+
+    @Test
+    public void spreadRejectsKeepCircuitClosed() {
+        reject(2);
+        advanceMillis(rejectWindowMillis + 1L);
+        reject(1);
+
+        assertThat(retryBudget.circuitState(), equalTo(CircuitState.CLOSED));
+        assertThat(retryBudget.rejectCount(), equalTo(3L));
+    }
+
+    public class OnRejectStorm {
+
+        @Before
+        public void setUp() {
+            reject(rejectThreshold);
+        }
+
+        @Test
+        public void circuitIsOpen() {
+            assertThat(retryBudget.circuitState(), equalTo(CircuitState.OPEN));
+            assertThat(retryBudget.circuitOpenCount(), equalTo(1L));
+        }
+
+        @Test
+        public void retriesAreDenied() {
+            assertFalse(retryBudget.tryAcquireRetry());
+        }
+
+        public class AfterOpenTime {
+
+            @Before
+            public void setUp() {
+                advanceMillis(circuitOpenMillis);
+            }
+
+            @Test
+            public void circuitIsHalfOpen() {
+                assertThat(retryBudget.circuitState(), equalTo(CircuitState.HALF_OPEN));
+            }
+
+            @Test
+            public void retryIsGrantedInHalfOpenState() {
+                assertTrue(retryBudget.tryAcquireRetry());
+                assertThat(retryBudget.circuitState(), equalTo(CircuitState.HALF_OPEN));
+            }
+
+            @Test
+            public void rejectOpensCircuitAgainAndDeniesItsRetry() {
+                reject(1);
+
+                assertFalse(retryBudget.tryAcquireRetry());
+                assertThat(retryBudget.circuitState(), equalTo(CircuitState.OPEN));
+                assertThat(retryBudget.circuitOpenCount(), equalTo(2L));
+            }
+
+            @Test
+            public void successClosesCircuit() {
+                retryBudget.onSuccess();
+
+                assertThat(retryBudget.circuitState(), equalTo(CircuitState.CLOSED));
+            }
+        }
+    }
+}
@@ -18,6 +18,9 @@ import com.dukascopy.api.JFException;
 import com.dukascopy.api.OfferSide;
 import com.google.common.collect.Sets;
 import com.jforex.programming.misc.StrategyThreadRunner;
+import com.jforex.programming.order.call.OrderCallMetrics;
+import com.jforex.programming.order.call.OrderCallReason;
+import com.jforex.programming.order.call.OrderCallStage;
 import com.jforex.programming.order.task.TaskExecutor;
 import com.jforex.programming.test.common.CommonUtilForTest;
 
@@ -44,6 +47,7 @@ public class TaskExecutorTest extends CommonUtilForTest {
     private final double closeAmount = 0.12;
     private final double closePrice = 1.1234;
     private final double closeSlippage = 5.5;
+    private final OrderCallMetrics orderCallMetrics = new OrderCallMetrics();
 
     @SuppressWarnings("unchecked")
     @Before
@@ -51,7 +55,9 @@ public class TaskExecutorTest extends CommonUtilForTest {
         when(strategyThreadTask.execute(any(Callable.class)))
             .thenReturn(testOrderSingle);
 
-        taskExecutor = new TaskExecutor(strategyThreadTask, engineMock);
+        taskExecutor = new TaskExecutor(strategyThreadTask,
+                                        engineMock,
+                                        orderCallMetrics);
     }
 
     private void captureAndRunAction() throws Exception {
@@ -101,6 +107,20 @@ public class TaskExecutorTest extends CommonUtilForTest {
                                            buyParamsEURUSD.comment());
         }
 
+        @Test
+        public void queueAndEngineLatenciesAreRecordedForSubmitReason() throws Exception {
+            verify(strategyThreadTask).execute(callableCaptor.capture());
+
+            callableCaptor.getValue().call();
+
+            assertThat(orderCallMetrics
+                .histogram(OrderCallReason.SUBMIT, OrderCallStage.QUEUE)
+                .count(), equalTo(1L));
+            assertThat(orderCallMetrics
+                .histogram(OrderCallReason.SUBMIT, OrderCallStage.ENGINE)
+                .count(), equalTo(1L));
+        }
+
         @Test
         public void callReturnsSingleInstanceFromTaskExecutor() {
             assertThat(returnedOrderSingle, equalTo(testOrderSingle));
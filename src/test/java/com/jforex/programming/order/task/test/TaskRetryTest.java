@@ -1,5 +1,8 @@
 package com.jforex.programming.order.task.test;
 
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
 import java.util.concurrent.Callable;
 
 import org.junit.Before;
@@ -11,6 +14,7 @@ import com.dukascopy.api.IOrder;
 import com.jforex.programming.order.call.OrderCallRejectException;
 import com.jforex.programming.order.event.OrderEvent;
 import com.jforex.programming.order.event.OrderEventType;
+import com.jforex.programming.order.task.RetryBudget;
 import com.jforex.programming.order.task.TaskRetry;
 import com.jforex.programming.test.common.CommonUtilForTest;
 import com.jforex.programming.test.common.RxTestUtil;
@@ -116,4 +120,42 @@ public class TaskRetryTest extends CommonUtilForTest {
             }
         }
     }
+
+    public class WithRetryBudget {
+
+        private RetryBudget retryBudget;
+
+        @Before
+        public void setUp() {
+            retryBudget = new RetryBudget(1,
+                                          0.0,
+                                          delayInMillis,
+                                          10,
+                                          1000L,
+                                          1000L);
+            testObserver = TaskRetry
+                .rejectObservable(subject,
+                                  retryParams,
+                                  retryBudget)
+                .test();
+
+            sendEvent(OrderEventType.CLOSE_REJECTED);
+        }
+
+        @Test
+        public void firstRetryUsesBudget() {
+            testObserver.assertNoErrors();
+            assertThat(retryBudget.grantedRetries(), equalTo(1L));
+        }
+
+        @Test
+        public void rejectIsEmittedWhenBudgetIsExhausted() {
+            RxTestUtil.advanceTimeInMillisBy(delayInMillis);
+
+            sendEvent(OrderEventType.CLOSE_REJECTED);
+
+            testObserver.assertError(OrderCallRejectException.class);
+            assertThat(retryBudget.deniedRetries(), equalTo(1L));
+        }
+    }
 }
@@ -3,6 +3,7 @@ package com.jforex.programming.order.test;
 import static com.jforex.programming.order.OrderStaticUtil.adaptedOrderParamsForSignedAmount;
 import static com.jforex.programming.order.OrderStaticUtil.amountPredicate;
 import static com.jforex.programming.order.OrderStaticUtil.buyOrderCommands;
+import static com.jforex.programming.order.OrderStaticUtil.callReasonForClose;
 import static com.jforex.programming.order.OrderStaticUtil.combinedSignedAmount;
 import static com.jforex.programming.order.OrderStaticUtil.direction;
 import static com.jforex.programming.order.OrderStaticUtil.directionToCommand;
@@ -55,6 +56,7 @@ import com.google.common.collect.Sets;
 import com.jforex.programming.order.OrderDirection;
 import com.jforex.programming.order.OrderParams;
 import com.jforex.programming.order.OrderStaticUtil;
+import com.jforex.programming.order.call.OrderCallReason;
 import com.jforex.programming.position.PositionDirection;
 import com.jforex.programming.position.PositionUtil;
 import com.jforex.programming.test.common.InstrumentUtilForTest;
@@ -605,4 +607,19 @@ public class OrderStaticUtilTest extends InstrumentUtilForTest {
         assertThat(signedAmountForReplace(sellOrderEURUSD, 0.012), equalTo(0.056));
         assertThat(signedAmountForReplace(sellOrderEURUSD, -0.012), equalTo(0.032));
     }
+
+    @Test
+    public void callReasonForCloseIsPartialCloseForLowerAmount() {
+        orderUtilForTest.setAmount(buyOrderEURUSD, 0.12);
+
+        assertThat(callReasonForClose(buyOrderEURUSD, 0.05), equalTo(OrderCallReason.PARTIAL_CLOSE));
+    }
+
+    @Test
+    public void callReasonForCloseIsCloseForFullOrNoAmount() {
+        orderUtilForTest.setAmount(buyOrderEURUSD, 0.12);
+
+        assertThat(callReasonForClose(buyOrderEURUSD, 0.12), equalTo(OrderCallReason.CLOSE));
+        assertThat(callReasonForClose(buyOrderEURUSD, 0.0), equalTo(OrderCallReason.CLOSE));
+    }
 }
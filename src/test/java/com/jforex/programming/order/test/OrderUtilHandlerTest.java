@@ -17,8 +17,10 @@ import org.mockito.Mock;
 
 import com.dukascopy.api.IOrder;
 import com.jforex.programming.order.OrderUtilHandler;
+import com.jforex.programming.order.call.OrderCallMetrics;
 import com.jforex.programming.order.call.OrderCallReason;
 import com.jforex.programming.order.call.OrderCallRequest;
+import com.jforex.programming.order.call.OrderCallStage;
 import com.jforex.programming.order.event.OrderEvent;
 import com.jforex.programming.order.event.OrderEventGateway;
 import com.jforex.programming.order.event.OrderEventType;
@@ -48,6 +50,7 @@ public class OrderUtilHandlerTest extends InstrumentUtilForTest {
     private ArgumentCaptor<OrderCallRequest> callRequestCaptor;
     private final JFHotPublisher<OrderCallRequest> callRequestPublisher = new JFHotPublisher<>();
     private final TestObserver<OrderCallRequest> requestObserver = callRequestPublisher.observable().test();
+    private final OrderCallMetrics orderCallMetrics = new OrderCallMetrics();
     private final IOrder orderForTest = buyOrderEURUSD;
     private final OrderCallReason orderCallReason = OrderCallReason.SUBMIT;
     private final EnumSet<OrderEventType> doneEventTypes = EnumSet.of(CLOSE_OK);
@@ -66,11 +69,20 @@ public class OrderUtilHandlerTest extends InstrumentUtilForTest {
 
         orderUtilHandler = new OrderUtilHandler(orderEventGatewayMock,
                                                 orderEventTypeDataFactory,
-                                                callRequestPublisher);
+                                                callRequestPublisher,
+                                                orderCallMetrics);
+    }
+
+    private long ackCount() {
+        return orderCallMetrics
+            .histogram(orderCallReason, OrderCallStage.ACK)
+            .count();
     }
 
     public void setUpMocks() {
-        when(orderEventGatewayMock.observable()).thenReturn(orderEventSubject);
+        when(orderEventGatewayMock.observableForOrder(any()))
+            .thenAnswer(invocation -> orderEventSubject
+                .filter(orderEvent -> orderEvent.order().equals(invocation.getArgument(0))));
 
         when(orderEventTypeData.doneEventTypes()).thenReturn(doneEventTypes);
         when(orderEventTypeData.rejectEventTypes()).thenReturn(rejectEventTypes);
@@ -131,7 +143,7 @@ public class OrderUtilHandlerTest extends InstrumentUtilForTest {
             public void orderIsRegisteredBeforeSubscriptionToEventGateway() {
                 requestObserver.assertValueCount(1);
 
-                verify(orderEventGatewayMock).observable();
+                verify(orderEventGatewayMock).observableForOrder(orderForTest);
             }
 
             @Test
@@ -172,6 +184,11 @@ public class OrderUtilHandlerTest extends InstrumentUtilForTest {
                     testObserver.assertNotComplete();
                 }
 
+                @Test
+                public void noAckLatencyRecorded() {
+                    assertThat(ackCount(), equalTo(0L));
+                }
+
                 public class OnCloseEvent {
 
                     private OrderEvent closeEvent;
@@ -190,6 +207,11 @@ public class OrderUtilHandlerTest extends InstrumentUtilForTest {
                     public void observableCompleted() {
                         testObserver.assertComplete();
                     }
+
+                    @Test
+                    public void ackLatencyIsRecorded() {
+                        assertThat(ackCount(), equalTo(1L));
+                    }
                 }
             }
         }
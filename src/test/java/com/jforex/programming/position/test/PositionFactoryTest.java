@@ -1,6 +1,7 @@
 package com.jforex.programming.position.test;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
@@ -10,6 +11,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import com.dukascopy.api.IOrder;
 import com.google.common.collect.Lists;
 import com.jforex.programming.order.event.OrderEvent;
 import com.jforex.programming.order.event.OrderEventType;
@@ -19,6 +21,8 @@ import com.jforex.programming.test.common.InstrumentUtilForTest;
 
 import de.bechte.junit.runners.context.HierarchicalContextRunner;
 import io.reactivex.Observable;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
 
 @RunWith(HierarchicalContextRunner.class)
 public class PositionFactoryTest extends InstrumentUtilForTest {
@@ -104,4 +108,42 @@ public class PositionFactoryTest extends InstrumentUtilForTest {
             }
         }
     }
+
+    public class EventRouting {
+
+        private final Subject<OrderEvent> orderEventSubject = PublishSubject.create();
+        private Position positionEURUSD;
+        private Position positionAUDUSD;
+
+        @Before
+        public void setUp() {
+            positionFactory = new PositionFactory(orderEventSubject);
+
+            positionEURUSD = positionFactory.forInstrument(instrumentEURUSD);
+            positionAUDUSD = positionFactory.forInstrument(instrumentAUDUSD);
+        }
+
+        private void sendSubmitEvent(final IOrder order) {
+            orderEventSubject.onNext(new OrderEvent(order,
+                                                    messageMock,
+                                                    OrderEventType.SUBMIT_OK,
+                                                    true));
+        }
+
+        @Test
+        public void eventIsRoutedToPositionOfOrderInstrument() {
+            sendSubmitEvent(buyOrderEURUSD);
+
+            assertTrue(positionEURUSD.contains(buyOrderEURUSD));
+            assertFalse(positionAUDUSD.contains(buyOrderEURUSD));
+        }
+
+        @Test
+        public void eventOfOtherInstrumentIsRoutedToItsPosition() {
+            sendSubmitEvent(buyOrderAUDUSD);
+
+            assertTrue(positionAUDUSD.contains(buyOrderAUDUSD));
+            assertFalse(positionEURUSD.contains(buyOrderAUDUSD));
+        }
+    }
 }
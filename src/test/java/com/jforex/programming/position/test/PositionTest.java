@@ -147,11 +147,42 @@ public class PositionTest extends InstrumentUtilForTest {
             assertTrue(filledOrOpenedOrders.contains(buyOrderEURUSD));
         }
 
+        @Test
+        public void openedOrderIsCounted() {
+            assertThat(position.count(IOrder.State.OPENED), equalTo(1));
+        }
+
         public class BuyOrderIsFilled {
 
             @Before
             public void setUp() {
                 orderUtilForTest.setState(buyOrderEURUSD, IOrder.State.FILLED);
+
+                sendOrderEvent(buyOrderEURUSD, OrderEventType.FULLY_FILLED);
+            }
+
+            @Test
+            public void orderCountsByStateAreUpdated() {
+                assertThat(position.count(IOrder.State.FILLED), equalTo(1));
+                assertThat(position.count(IOrder.State.OPENED), equalTo(0));
+            }
+
+            @Test
+            public void orderCountsMatchContainedOrders() {
+                for (final IOrder.State state : IOrder.State.values())
+                    assertThat(position.count(state),
+                               equalTo(position
+                                   .filter(order -> order.getState() == state)
+                                   .size()));
+            }
+
+            @Test
+            public void partialCloseUpdatesSignedExposure() {
+                orderUtilForTest.setAmount(buyOrderEURUSD, 0.01);
+
+                sendOrderEvent(buyOrderEURUSD, OrderEventType.PARTIAL_CLOSE_OK);
+
+                assertThat(position.signedExposure(), equalTo(0.01));
             }
 
             @Test
@@ -376,6 +407,7 @@ public class PositionTest extends InstrumentUtilForTest {
 
                     assertFalse(position.contains(buyOrderEURUSD));
                     assertThat(position.size(), equalTo(1));
+                    assertThat(position.count(IOrder.State.FILLED), equalTo(1));
                     assertThat(position.direction(), equalTo(PositionDirection.SHORT));
 
                     final double sellAmount = OrderStaticUtil.signedAmount(sellOrderEURUSD);
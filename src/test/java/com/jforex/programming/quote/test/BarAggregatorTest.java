@@ -0,0 +1,129 @@
+package com.jforex.programming.quote.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.dukascopy.api.ITick;
+import com.dukascopy.api.OfferSide;
+import com.dukascopy.api.Period;
+import com.jforex.programming.quote.AggregatedBar;
+import com.jforex.programming.quote.BarAggregator;
+import com.jforex.programming.quote.BarParams;
+import com.jforex.programming.quote.BarQuote;
+import com.jforex.programming.quote.QuoteException;
+import com.jforex.programming.quote.TickQuote;
+import com.jforex.programming.test.common.QuoteProviderForTest;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+
+@RunWith(HierarchicalContextRunner.class)
+public class BarAggregatorTest extends QuoteProviderForTest {
+
+    private BarAggregator barAggregator;
+
+    private final Subject<TickQuote> tickQuoteObservable = PublishSubject.create();
+    private final List<BarQuote> barQuotes = new ArrayList<>();
+    private final BarParams oneMinuteBidParams = BarParams
+        .forInstrument(instrumentEURUSD)
+        .period(Period.ONE_MIN)
+        .offerSide(OfferSide.BID);
+    private static final long minute = 60000L;
+
+    @Before
+    public void setUp() {
+        barAggregator = new BarAggregator(tickQuoteObservable, barQuotes::add);
+    }
+
+    private void sendTick(final long time,
+                          final double bid) {
+        final ITick tick = mockForITick(bid, bid + 0.0001);
+        when(tick.getTime()).thenReturn(time);
+        when(tick.getBidVolume()).thenReturn(1.0);
+
+        tickQuoteObservable.onNext(new TickQuote(instrumentEURUSD, tick));
+    }
+
+    @Test(expected = QuoteException.class)
+    public void weeklyPeriodCannotBeAggregated() {
+        barAggregator.register(BarParams
+            .forInstrument(instrumentEURUSD)
+            .period(Period.WEEKLY)
+            .offerSide(OfferSide.BID));
+    }
+
+    @Test
+    public void periodsUpToOneDayCanBeAggregated() {
+        assertTrue(BarAggregator.canAggregate(Period.ONE_MIN));
+        assertTrue(BarAggregator.canAggregate(Period.DAILY));
+    }
+
+    @Test
+    public void periodsLongerThanOneDayCannotBeAggregated() {
+        assertFalse(BarAggregator.canAggregate(Period.WEEKLY));
+        assertFalse(BarAggregator.canAggregate(Period.MONTHLY));
+    }
+
+    @Test
+    public void noBarsForUnregisteredParams() {
+        sendTick(minute, 1.1);
+        sendTick(2 * minute, 1.2);
+
+        assertTrue(barQuotes.isEmpty());
+    }
+
+    public class WhenRegistered {
+
+        @Before
+        public void setUp() {
+            barAggregator.register(oneMinuteBidParams);
+            barAggregator.register(oneMinuteBidParams);
+
+            sendTick(minute + 100L, 1.1);
+            sendTick(minute + 200L, 1.3);
+            sendTick(minute + 300L, 1.0);
+            sendTick(minute + 400L, 1.2);
+        }
+
+        @Test
+        public void noBarIsEmittedWithinPeriod() {
+            assertTrue(barQuotes.isEmpty());
+        }
+
+        public class WhenNextPeriodStarts {
+
+            @Before
+            public void setUp() {
+                sendTick(2 * minute + 50L, 1.25);
+            }
+
+            @Test
+            public void oneCompletedBarIsEmitted() {
+                assertThat(barQuotes.size(), equalTo(1));
+                assertThat(barQuotes.get(0).barParams(), equalTo(oneMinuteBidParams));
+            }
+
+            @Test
+            public void barValuesAreAggregated() {
+                final AggregatedBar expectedBar = new AggregatedBar(minute,
+                                                                    1.1,
+                                                                    1.3,
+                                                                    1.0,
+                                                                    1.2,
+                                                                    4.0);
+
+                assertThat(barQuotes.get(0).bar(), equalTo(expectedBar));
+            }
+        }
+    }
+}
@@ -11,6 +11,7 @@ import org.junit.Test;
 import org.mockito.Mock;
 
 import com.dukascopy.api.OfferSide;
+import com.google.common.collect.Lists;
 import com.jforex.programming.quote.BarParams;
 import com.jforex.programming.quote.BarQuote;
 import com.jforex.programming.quote.BarQuoteProvider;
@@ -18,8 +19,9 @@ import com.jforex.programming.quote.BarQuoteRepository;
 import com.jforex.programming.strategy.QuoteUtil;
 import com.jforex.programming.test.common.QuoteProviderForTest;
 
-import io.reactivex.Observable;
 import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
 
 public class BarQuoteProviderTest extends QuoteProviderForTest {
 
@@ -31,11 +33,7 @@ public class BarQuoteProviderTest extends QuoteProviderForTest {
     private BarQuoteRepository barQuoteRepositoryMock;
     private final TestObserver<BarQuote> filteredQuoteSubscriber = TestObserver.create();
     private final TestObserver<BarQuote> unFilteredQuoteSubscriber = TestObserver.create();
-    private final Observable<BarQuote> quoteObservable =
-            Observable.just(askBarQuoteEURUSD,
-                            askBarQuoteAUDUSD,
-                            askBarQuoteEURUSDCustomPeriod,
-                            bidBarQuoteEURUSD);
+    private final Subject<BarQuote> quoteObservable = PublishSubject.create();
     private final List<BarParams> quoteFilters = new ArrayList<>();
 
     @Before
@@ -54,6 +52,11 @@ public class BarQuoteProviderTest extends QuoteProviderForTest {
         barQuoteProvider
             .observable()
             .subscribe(unFilteredQuoteSubscriber);
+
+        quoteObservable.onNext(askBarQuoteEURUSD);
+        quoteObservable.onNext(askBarQuoteAUDUSD);
+        quoteObservable.onNext(askBarQuoteEURUSDCustomPeriod);
+        quoteObservable.onNext(bidBarQuoteEURUSD);
     }
 
     private void assertCommonEmittedBars(final TestObserver<BarQuote> subscriber) {
@@ -108,6 +111,18 @@ public class BarQuoteProviderTest extends QuoteProviderForTest {
                    equalTo(bidBarQuoteEURUSD));
     }
 
+    @Test
+    public void customPeriodBarsAreRoutedToTheirSubscriber() {
+        final TestObserver<BarQuote> customPeriodSubscriber = barQuoteProvider
+            .observableForParamsList(Lists.newArrayList(askBarEURUSDCustomPeriodParams))
+            .test();
+
+        quoteObservable.onNext(askBarQuoteEURUSD);
+        quoteObservable.onNext(askBarQuoteEURUSDCustomPeriod);
+
+        customPeriodSubscriber.assertValue(askBarQuoteEURUSDCustomPeriod);
+    }
+
     @Test
     public void onCustomPeriodSubscriptionQuoteUtilIsCalled() {
         quoteFilters.add(askBarEURUSDParams);
@@ -58,6 +58,7 @@ public class BarQuoteRepositoryTest extends QuoteProviderForTest {
             public void setUp() {
                 quoteObservable.onNext(askBarQuoteEURUSD);
                 quoteObservable.onNext(askBarQuoteAUDUSD);
+                quoteObservable.onNext(askBarQuoteEURUSDCustomPeriod);
             }
 
             @Test
@@ -75,6 +76,25 @@ public class BarQuoteRepositoryTest extends QuoteProviderForTest {
                 assertThat(receivedQuoteAUDUSD, equalTo(askBarQuoteAUDUSD));
                 verifyNoMoreInteractions(historyMock);
             }
+
+            @Test
+            public void quoteForCustomPeriodComesFromObservable() {
+                final BarQuote receivedQuote = barQuoteRepository.get(askBarEURUSDCustomPeriodParams);
+
+                assertThat(receivedQuote, equalTo(askBarQuoteEURUSDCustomPeriod));
+                verifyNoMoreInteractions(historyMock);
+            }
+
+            @Test
+            public void otherOfferSideIsNotTakenFromSameSlot() {
+                when(historyUtilMock.latestBarObservable(bidBarEURUSDParams))
+                    .thenReturn(Observable.just(bidBarEURUSD));
+
+                final BarQuote receivedQuote = barQuoteRepository.get(bidBarEURUSDParams);
+
+                assertThat(receivedQuote, equalTo(bidBarQuoteEURUSD));
+                verify(historyUtilMock).latestBarObservable(bidBarEURUSDParams);
+            }
         }
     }
 }
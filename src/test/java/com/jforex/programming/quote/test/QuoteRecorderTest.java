@@ -0,0 +1,180 @@
+package com.jforex.programming.quote.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import com.dukascopy.api.ITick;
+import com.jforex.programming.quote.AggregatedBar;
+import com.jforex.programming.quote.BarQuote;
+import com.jforex.programming.quote.QuoteRecorder;
+import com.jforex.programming.quote.QuoteReplayer;
+import com.jforex.programming.quote.ReplayMode;
+import com.jforex.programming.quote.TickQuote;
+import com.jforex.programming.strategy.QuoteUtil;
+import com.jforex.programming.test.common.QuoteProviderForTest;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+
+@RunWith(HierarchicalContextRunner.class)
+public class QuoteRecorderTest extends QuoteProviderForTest {
+
+    private QuoteRecorder quoteRecorder;
+    private QuoteReplayer quoteReplayer;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+    @Mock
+    private QuoteUtil quoteUtilMock;
+    private final Subject<TickQuote> tickQuoteObservable = PublishSubject.create();
+    private final Subject<BarQuote> barQuoteObservable = PublishSubject.create();
+    private final long quoteTime = 1483315200000L;
+    private final AggregatedBar recordedBar = new AggregatedBar(quoteTime,
+                                                                1.1,
+                                                                1.3,
+                                                                1.0,
+                                                                1.2,
+                                                                42.0);
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = temporaryFolder.getRoot().toPath();
+        quoteRecorder = new QuoteRecorder(directory,
+                                          tickQuoteObservable,
+                                          barQuoteObservable,
+                                          1024L);
+        quoteReplayer = new QuoteReplayer(quoteUtilMock);
+
+        when(tickEURUSD.getTime()).thenReturn(quoteTime);
+        when(tickEURUSD.getBidVolume()).thenReturn(2.0);
+        when(tickEURUSD.getAskVolume()).thenReturn(3.0);
+    }
+
+    private Path recordedFile() {
+        return directory.resolve("quotes_2017-01-02.bin");
+    }
+
+    private void recordQuotes() throws IOException {
+        tickQuoteObservable.onNext(tickQuoteEURUSD);
+        barQuoteObservable.onNext(new BarQuote(recordedBar, askBarEURUSDParams));
+        quoteRecorder.close();
+    }
+
+    private void replayRecordedFile() {
+        quoteReplayer
+            .replay(recordedFile(), ReplayMode.FULL_SPEED)
+            .blockingAwait();
+    }
+
+    private QuoteRecorder reopenRecorder() throws IOException {
+        return new QuoteRecorder(directory,
+                                 tickQuoteObservable,
+                                 barQuoteObservable,
+                                 1024L);
+    }
+
+    @Test
+    public void fileIsNotTruncatedOnClose() throws IOException {
+        recordQuotes();
+
+        assertTrue(Files.exists(recordedFile()));
+        assertThat(Files.size(recordedFile()), equalTo(1024L));
+    }
+
+    @Test
+    public void quotesAfterCloseAreNotRecorded() throws IOException {
+        recordQuotes();
+        tickQuoteObservable.onNext(tickQuoteEURUSD);
+
+        replayRecordedFile();
+
+        verify(quoteUtilMock).onTick(eq(instrumentEURUSD), any());
+    }
+
+    @Test
+    public void reopenedFileIsAppended() throws IOException {
+        recordQuotes();
+        quoteRecorder = reopenRecorder();
+
+        tickQuoteObservable.onNext(tickQuoteEURUSD);
+        quoteRecorder.close();
+        replayRecordedFile();
+
+        verify(quoteUtilMock, times(2)).onTick(eq(instrumentEURUSD), any());
+        verify(quoteUtilMock).onBarQuote(any());
+    }
+
+    @Test
+    public void fileWithInvalidHeaderIsMovedAside() throws IOException {
+        final byte[] garbage = new byte[64];
+        Arrays.fill(garbage, (byte) 0x7F);
+        Files.write(recordedFile(), garbage);
+
+        recordQuotes();
+        replayRecordedFile();
+
+        assertTrue(Files.exists(directory.resolve("quotes_2017-01-02.bin.invalid")));
+        verify(quoteUtilMock).onTick(eq(instrumentEURUSD), any());
+    }
+
+    @Test
+    public void recordingOverManySegmentsIsReplayed() throws IOException {
+        for (int i = 0; i < 100; ++i)
+            tickQuoteObservable.onNext(tickQuoteEURUSD);
+        quoteRecorder.close();
+
+        replayRecordedFile();
+
+        verify(quoteUtilMock, times(100)).onTick(eq(instrumentEURUSD), any());
+    }
+
+    public class WhenReplayed {
+
+        private final ArgumentCaptor<ITick> tickCaptor = ArgumentCaptor.forClass(ITick.class);
+        private final ArgumentCaptor<BarQuote> barQuoteCaptor = ArgumentCaptor.forClass(BarQuote.class);
+
+        @Before
+        public void setUp() throws IOException {
+            recordQuotes();
+
+            replayRecordedFile();
+        }
+
+        @Test
+        public void tickValuesAreReplayed() {
+            verify(quoteUtilMock).onTick(eq(instrumentEURUSD), tickCaptor.capture());
+            final ITick tick = tickCaptor.getValue();
+
+            assertThat(tick.getTime(), equalTo(quoteTime));
+            assertThat(tick.getBid(), equalTo(bidEURUSD));
+            assertThat(tick.getAsk(), equalTo(askEURUSD));
+            assertThat(tick.getBidVolume(), equalTo(2.0));
+            assertThat(tick.getAskVolume(), equalTo(3.0));
+        }
+
+        @Test
+        public void barQuoteIsReplayed() {
+            verify(quoteUtilMock).onBarQuote(barQuoteCaptor.capture());
+            final BarQuote barQuote = barQuoteCaptor.getValue();
+
+            assertThat(barQuote.barParams(), equalTo(askBarEURUSDParams));
+            assertThat(barQuote.bar(), equalTo(recordedBar));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.jforex.programming.quote.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.dukascopy.api.ITick;
+import com.dukascopy.api.Instrument;
+import com.google.common.collect.Sets;
+import com.jforex.programming.quote.TickHistoryRepository;
+import com.jforex.programming.quote.TickQuote;
+import com.jforex.programming.quote.TickWindow;
+import com.jforex.programming.test.common.QuoteProviderForTest;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+
+@RunWith(HierarchicalContextRunner.class)
+public class TickHistoryRepositoryTest extends QuoteProviderForTest {
+
+    private TickHistoryRepository tickHistoryRepository;
+
+    private final Subject<TickQuote> quoteObservable = PublishSubject.create();
+    private final Set<Instrument> subscribedInstruments = Sets.newHashSet(instrumentEURUSD,
+                                                                          instrumentAUDUSD);
+    private static final int defaultCapacity = 3;
+    private static final String[] capacityEntries = new String[] {
+            " EURUSD : 2",
+            "AUDUSD:0",
+            "USDJPY",
+            "NOTANINSTRUMENT:5",
+            "EURJPY:abc",
+            "" };
+
+    @Before
+    public void setUp() {
+        tickHistoryRepository = new TickHistoryRepository(quoteObservable,
+                                                          subscribedInstruments,
+                                                          defaultCapacity,
+                                                          capacityEntries);
+    }
+
+    private void sendTicks(final Instrument instrument,
+                           final int noOfTicks) {
+        for (int time = 1; time <= noOfTicks; ++time) {
+            final ITick tick = mockForITick(time + 0.5, time + 0.7);
+            when(tick.getTime()).thenReturn((long) time);
+            quoteObservable.onNext(new TickQuote(instrument, tick));
+        }
+    }
+
+    @Test
+    public void capacityOfValidEntryIsUsed() {
+        assertThat(tickHistoryRepository.capacity(instrumentEURUSD), equalTo(2));
+        assertThat(tickHistoryRepository.capacity(instrumentAUDUSD), equalTo(0));
+    }
+
+    @Test
+    public void invalidEntriesFallBackToDefaultCapacity() {
+        assertThat(tickHistoryRepository.capacity(instrumentUSDJPY), equalTo(defaultCapacity));
+        assertThat(tickHistoryRepository.capacity(instrumentEURJPY), equalTo(defaultCapacity));
+    }
+
+    @Test
+    public void windowForUnknownInstrumentIsEmpty() {
+        assertTrue(tickHistoryRepository
+            .window(instrumentGBPUSD, 5)
+            .isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeWindowLengthThrows() {
+        tickHistoryRepository.window(instrumentEURUSD, -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeWindowLengthThrowsForUnknownInstrument() {
+        tickHistoryRepository.window(instrumentGBPUSD, -1);
+    }
+
+    public class AfterTicksReceived {
+
+        @Before
+        public void setUp() {
+            sendTicks(instrumentEURUSD, 4);
+            sendTicks(instrumentAUDUSD, 4);
+            sendTicks(instrumentUSDJPY, 4);
+        }
+
+        @Test
+        public void windowIsLimitedByInstrumentCapacity() {
+            final TickWindow tickWindow = tickHistoryRepository.window(instrumentEURUSD, 5);
+
+            assertThat(tickWindow.size(), equalTo(2));
+            assertThat(tickWindow.time(0), equalTo(3L));
+            assertThat(tickWindow.time(1), equalTo(4L));
+        }
+
+        @Test
+        public void instrumentWithZeroCapacityKeepsNoTicks() {
+            assertTrue(tickHistoryRepository
+                .window(instrumentAUDUSD, 5)
+                .isEmpty());
+        }
+
+        @Test
+        public void notSubscribedInstrumentGetsBufferOnFirstTick() {
+            final TickWindow tickWindow = tickHistoryRepository.window(instrumentUSDJPY, 5);
+
+            assertThat(tickWindow.size(), equalTo(defaultCapacity));
+            assertThat(tickWindow.time(2), equalTo(4L));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.jforex.programming.quote.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.jforex.programming.quote.TickQuote;
+import com.jforex.programming.quote.TickQuoteConflater;
+import com.jforex.programming.test.common.QuoteProviderForTest;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+
+@RunWith(HierarchicalContextRunner.class)
+public class TickQuoteConflaterTest extends QuoteProviderForTest {
+
+    private TickQuoteConflater tickQuoteConflater;
+
+    private final Subject<TickQuote> quoteObservable = PublishSubject.create();
+    private final TestScheduler testScheduler = new TestScheduler();
+    private TestObserver<TickQuote> testObserver;
+
+    @Before
+    public void setUp() {
+        tickQuoteConflater = new TickQuoteConflater(quoteObservable, testScheduler);
+
+        testObserver = tickQuoteConflater
+            .observable()
+            .test();
+    }
+
+    @Test
+    public void singleTickIsDelivered() {
+        quoteObservable.onNext(tickQuoteEURUSD);
+        testScheduler.triggerActions();
+
+        testObserver.assertValue(tickQuoteEURUSD);
+        assertThat(tickQuoteConflater.conflatedCount(), equalTo(0L));
+    }
+
+    public class WhenConsumerIsBehind {
+
+        @Before
+        public void setUp() {
+            quoteObservable.onNext(tickQuoteEURUSD);
+            quoteObservable.onNext(tickQuoteAUDUSD);
+            quoteObservable.onNext(tickQuoteUSDJPY);
+            testScheduler.triggerActions();
+        }
+
+        @Test
+        public void onlyLatestTickIsDelivered() {
+            testObserver.assertValue(tickQuoteUSDJPY);
+        }
+
+        @Test
+        public void conflatedTicksAreCounted() {
+            assertThat(tickQuoteConflater.conflatedCount(), equalTo(2L));
+        }
+
+        @Test
+        public void nextTickIsDeliveredAfterDrain() {
+            quoteObservable.onNext(tickQuoteEURJPY);
+            testScheduler.triggerActions();
+
+            testObserver.assertValues(tickQuoteUSDJPY, tickQuoteEURJPY);
+        }
+    }
+
+    @Test
+    public void completionIsForwarded() {
+        quoteObservable.onComplete();
+        testScheduler.triggerActions();
+
+        testObserver.assertComplete();
+    }
+}
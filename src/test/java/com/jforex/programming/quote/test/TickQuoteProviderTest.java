@@ -9,13 +9,17 @@ import org.mockito.Mock;
 
 import com.dukascopy.api.OfferSide;
 import com.google.common.collect.Sets;
+import com.jforex.programming.quote.TickHistoryRepository;
 import com.jforex.programming.quote.TickQuote;
 import com.jforex.programming.quote.TickQuoteProvider;
 import com.jforex.programming.quote.TickQuoteRepository;
+import com.jforex.programming.quote.TickWindow;
 import com.jforex.programming.test.common.QuoteProviderForTest;
 
-import io.reactivex.Observable;
+import io.reactivex.Completable;
 import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
 
 public class TickQuoteProviderTest extends QuoteProviderForTest {
 
@@ -23,7 +27,9 @@ public class TickQuoteProviderTest extends QuoteProviderForTest {
 
     @Mock
     private TickQuoteRepository tickQuoteRepositoryMock;
-    private final Observable<TickQuote> quoteObservable = Observable.just(tickQuoteEURUSD, tickQuoteAUDUSD);
+    @Mock
+    private TickHistoryRepository tickHistoryRepositoryMock;
+    private final Subject<TickQuote> quoteObservable = PublishSubject.create();
     private final TestObserver<TickQuote> unfilteredQuoteSubscriber = TestObserver.create();
     private final TestObserver<TickQuote> quoteEURUSDAndAUDUSDSubscriber = TestObserver.create();
     private final TestObserver<TickQuote> quoteGBPAUDSubscriber = TestObserver.create();
@@ -32,7 +38,9 @@ public class TickQuoteProviderTest extends QuoteProviderForTest {
     public void setUp() {
         setUpMocks();
 
-        tickQuoteProvider = new TickQuoteProvider(quoteObservable, tickQuoteRepositoryMock);
+        tickQuoteProvider = new TickQuoteProvider(quoteObservable,
+                                                  tickQuoteRepositoryMock,
+                                                  tickHistoryRepositoryMock);
 
         tickQuoteProvider
             .observable()
@@ -45,6 +53,9 @@ public class TickQuoteProviderTest extends QuoteProviderForTest {
         tickQuoteProvider
             .observableForInstruments(Sets.newHashSet(instrumentGBPAUD))
             .subscribe(quoteGBPAUDSubscriber);
+
+        quoteObservable.onNext(tickQuoteEURUSD);
+        quoteObservable.onNext(tickQuoteAUDUSD);
     }
 
     private void setUpMocks() {
@@ -52,6 +63,10 @@ public class TickQuoteProviderTest extends QuoteProviderForTest {
             .thenReturn(tickQuoteEURUSD);
         when(tickQuoteRepositoryMock.get(instrumentAUDUSD))
             .thenReturn(tickQuoteAUDUSD);
+        when(tickQuoteRepositoryMock.ask(instrumentEURUSD))
+            .thenReturn(askEURUSD);
+        when(tickQuoteRepositoryMock.bid(instrumentEURUSD))
+            .thenReturn(bidEURUSD);
     }
 
     private void assertCommonEmittedTicks(final TestObserver<TickQuote> subscriber) {
@@ -104,12 +119,43 @@ public class TickQuoteProviderTest extends QuoteProviderForTest {
         assertCommonEmittedTicks(unfilteredQuoteSubscriber);
     }
 
+    @Test
+    public void singleInstrumentSubscriberOnlyReceivesItsTicks() {
+        final TestObserver<TickQuote> quoteAUDUSDSubscriber = tickQuoteProvider
+            .observableForInstruments(Sets.newHashSet(instrumentAUDUSD))
+            .test();
+
+        quoteObservable.onNext(tickQuoteEURUSD);
+        quoteObservable.onNext(tickQuoteAUDUSD);
+
+        quoteAUDUSDSubscriber.assertValue(tickQuoteAUDUSD);
+    }
+
     @Test
     public void ticksAreNotEmittedForGBPAUDSubscriber() {
         quoteGBPAUDSubscriber.assertNoErrors();
         quoteGBPAUDSubscriber.assertValueCount(0);
     }
 
+    @Test
+    public void warmUpIsTakenFromRepository() {
+        when(tickQuoteRepositoryMock.warmUp()).thenReturn(Completable.complete());
+
+        tickQuoteProvider
+            .warmUp()
+            .test()
+            .assertComplete();
+    }
+
+    @Test
+    public void tickWindowComesFromHistoryRepository() {
+        final TickWindow tickWindow = TickWindow.empty();
+        when(tickHistoryRepositoryMock.window(instrumentEURUSD, 10)).thenReturn(tickWindow);
+
+        assertThat(tickQuoteProvider.tickWindow(instrumentEURUSD, 10),
+                   equalTo(tickWindow));
+    }
+
     @Test
     public void getRepositoryIsCorrect() {
         final TickQuoteRepository repository = tickQuoteProvider.repository();
@@ -11,6 +11,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import com.dukascopy.api.ITick;
 import com.dukascopy.api.Instrument;
 import com.google.common.collect.Sets;
 import com.jforex.programming.quote.QuoteException;
@@ -20,6 +21,8 @@ import com.jforex.programming.test.common.QuoteProviderForTest;
 
 import de.bechte.junit.runners.context.HierarchicalContextRunner;
 import io.reactivex.Observable;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.BehaviorSubject;
 import io.reactivex.subjects.PublishSubject;
 import io.reactivex.subjects.Subject;
 
@@ -53,6 +56,14 @@ public class TickQuoteRepositoryTest extends QuoteProviderForTest {
             verify(historyUtilMock).tickQuotesObservable(subscribedInstruments);
         }
 
+        @Test
+        public void warmUpCompletesWhenAllInstrumentsArePrimed() {
+            tickQuoteRepository
+                .warmUp()
+                .test()
+                .assertComplete();
+        }
+
         @Test
         public void quoteForEURUSDComesFromHistory() {
             assertThat(tickQuoteRepository.get(instrumentEURUSD),
@@ -89,6 +100,18 @@ public class TickQuoteRepositoryTest extends QuoteProviderForTest {
                            equalTo(tickQuoteAUDUSD));
             }
 
+            @Test
+            public void askForEURUSDComesFromStore() {
+                assertThat(tickQuoteRepository.ask(instrumentEURUSD),
+                           equalTo(askEURUSD));
+            }
+
+            @Test
+            public void bidForAUDUSDComesFromStore() {
+                assertThat(tickQuoteRepository.bid(instrumentAUDUSD),
+                           equalTo(bidAUDUSD));
+            }
+
             @Test
             public void getAllIsCorrect() {
                 final Map<Instrument, TickQuote> tickMap = tickQuoteRepository.getAll();
@@ -102,10 +125,100 @@ public class TickQuoteRepositoryTest extends QuoteProviderForTest {
         }
     }
 
+    public class WhenHistoryArrivesAfterLiveTick {
+
+        private final Subject<TickQuote> historySubject = PublishSubject.create();
+        private final ITick historyTick = mockForITick(bidEURUSD + 0.001, askEURUSD + 0.001);
+        private final TickQuote historyQuote = new TickQuote(instrumentEURUSD, historyTick);
+
+        @Before
+        public void setUp() {
+            when(historyUtilMock.tickQuotesObservable(subscribedInstruments))
+                .thenReturn(historySubject);
+            when(historyTick.getTime()).thenReturn(1000L);
+            when(tickEURUSD.getTime()).thenReturn(2000L);
+
+            tickQuoteRepository = new TickQuoteRepository(quoteObservable,
+                                                          historyUtilMock,
+                                                          subscribedInstruments);
+            quoteObservable.onNext(tickQuoteEURUSD);
+            historySubject.onNext(historyQuote);
+            historySubject.onComplete();
+        }
+
+        @Test
+        public void olderHistoryQuoteDoesNotOverwriteLiveTick() {
+            assertThat(tickQuoteRepository.get(instrumentEURUSD),
+                       equalTo(tickQuoteEURUSD));
+            assertThat(tickQuoteRepository.bid(instrumentEURUSD),
+                       equalTo(bidEURUSD));
+        }
+
+        @Test
+        public void warmUpStillCompletes() {
+            tickQuoteRepository
+                .warmUp()
+                .test()
+                .assertComplete();
+        }
+    }
+
     public class ForInstrumentNotSubscribed {
 
         private final Instrument testInstrument = instrumentUSDJPY;
 
+        public class WhenHistoryCallIsInFlight {
+
+            private final Subject<TickQuote> historySubject = BehaviorSubject.create();
+            private TestObserver<TickQuote> firstObserver;
+            private TestObserver<TickQuote> secondObserver;
+
+            @Before
+            public void setUp() {
+                when(historyUtilMock.tickQuoteObservable(testInstrument))
+                    .thenReturn(historySubject);
+
+                firstObserver = tickQuoteRepository
+                    .getAsync(testInstrument)
+                    .test();
+                secondObserver = tickQuoteRepository
+                    .getAsync(testInstrument)
+                    .test();
+            }
+
+            @Test
+            public void concurrentMissesShareOneHistoryCall() {
+                verify(historyUtilMock).tickQuoteObservable(testInstrument);
+            }
+
+            @Test
+            public void historyQuoteDoesNotOverwriteNewerLiveTick() {
+                when(tickUSDJPY.getTime()).thenReturn(2000L);
+                quoteObservable.onNext(tickQuoteUSDJPY);
+
+                final ITick historyTick = mockForITick(bidUSDJPY + 0.1, askUSDJPY + 0.1);
+                when(historyTick.getTime()).thenReturn(1000L);
+                historySubject.onNext(new TickQuote(testInstrument, historyTick));
+                firstObserver.awaitTerminalEvent();
+
+                assertThat(tickQuoteRepository.get(testInstrument),
+                           equalTo(tickQuoteUSDJPY));
+            }
+
+            @Test
+            public void allObserversReceiveTheHistoryQuote() {
+                historySubject.onNext(tickQuoteUSDJPY);
+
+                firstObserver.awaitTerminalEvent();
+                secondObserver.awaitTerminalEvent();
+
+                firstObserver.assertValue(tickQuoteUSDJPY);
+                secondObserver.assertValue(tickQuoteUSDJPY);
+                assertThat(tickQuoteRepository.get(testInstrument),
+                           equalTo(tickQuoteUSDJPY));
+            }
+        }
+
         public class WhenHistoryFails {
 
             @Before
@@ -136,6 +249,24 @@ public class TickQuoteRepositoryTest extends QuoteProviderForTest {
 
                 verify(historyUtilMock).tickQuoteObservable(testInstrument);
             }
+
+            @Test
+            public void asyncQuoteComesFromStoreAfterHistoryFetch() {
+                tickQuoteRepository
+                    .getAsync(testInstrument)
+                    .test()
+                    .assertValue(tickQuoteUSDJPY);
+
+                verify(historyUtilMock).tickQuoteObservable(testInstrument);
+            }
+
+            @Test
+            public void askIsReadFromCachedHistoryQuote() {
+                assertThat(tickQuoteRepository.ask(testInstrument),
+                           equalTo(askUSDJPY));
+
+                verify(historyUtilMock).tickQuoteObservable(testInstrument);
+            }
         }
     }
 }
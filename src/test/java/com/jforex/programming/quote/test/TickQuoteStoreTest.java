@@ -0,0 +1,116 @@
+package com.jforex.programming.quote.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.dukascopy.api.ITick;
+import com.dukascopy.api.Instrument;
+import com.jforex.programming.quote.TickQuote;
+import com.jforex.programming.quote.TickQuoteStore;
+import com.jforex.programming.test.common.QuoteProviderForTest;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+
+@RunWith(HierarchicalContextRunner.class)
+public class TickQuoteStoreTest extends QuoteProviderForTest {
+
+    private TickQuoteStore tickQuoteStore;
+
+    @Before
+    public void setUp() {
+        tickQuoteStore = new TickQuoteStore();
+    }
+
+    @Test
+    public void emptyStoreContainsNoQuotes() {
+        assertFalse(tickQuoteStore.contains(instrumentEURUSD));
+        assertNull(tickQuoteStore.get(instrumentEURUSD));
+        assertTrue(tickQuoteStore.getAll().isEmpty());
+    }
+
+    @Test
+    public void emptyStoreReturnsNaNPrices() {
+        assertTrue(Double.isNaN(tickQuoteStore.ask(instrumentEURUSD)));
+        assertTrue(Double.isNaN(tickQuoteStore.bid(instrumentEURUSD)));
+    }
+
+    public class AfterQuotesArePut {
+
+        private final ITick tickWithVolumes = mockForITick(bidEURUSD, askEURUSD);
+        private final TickQuote tickQuoteWithVolumes = new TickQuote(instrumentEURUSD, tickWithVolumes);
+
+        @Before
+        public void setUp() {
+            when(tickWithVolumes.getBidVolume()).thenReturn(2.5);
+            when(tickWithVolumes.getAskVolume()).thenReturn(1.5);
+            when(tickWithVolumes.getTime()).thenReturn(42L);
+
+            tickQuoteStore.put(tickQuoteWithVolumes);
+            tickQuoteStore.put(tickQuoteAUDUSD);
+        }
+
+        @Test
+        public void quotesAreContained() {
+            assertTrue(tickQuoteStore.contains(instrumentEURUSD));
+            assertTrue(tickQuoteStore.contains(instrumentAUDUSD));
+            assertFalse(tickQuoteStore.contains(instrumentUSDJPY));
+        }
+
+        @Test
+        public void primitiveFieldsAreCorrect() {
+            assertThat(tickQuoteStore.bid(instrumentEURUSD), equalTo(bidEURUSD));
+            assertThat(tickQuoteStore.ask(instrumentEURUSD), equalTo(askEURUSD));
+            assertThat(tickQuoteStore.bidVolume(instrumentEURUSD), equalTo(2.5));
+            assertThat(tickQuoteStore.askVolume(instrumentEURUSD), equalTo(1.5));
+            assertThat(tickQuoteStore.time(instrumentEURUSD), equalTo(42L));
+        }
+
+        @Test
+        public void getReturnsLatestQuote() {
+            assertThat(tickQuoteStore.get(instrumentEURUSD), equalTo(tickQuoteWithVolumes));
+
+            when(tickEURUSD.getTime()).thenReturn(43L);
+            assertTrue(tickQuoteStore.put(tickQuoteEURUSD));
+
+            assertThat(tickQuoteStore.get(instrumentEURUSD), equalTo(tickQuoteEURUSD));
+        }
+
+        @Test
+        public void olderQuoteIsSkipped() {
+            when(tickEURUSD.getTime()).thenReturn(41L);
+
+            assertFalse(tickQuoteStore.put(tickQuoteEURUSD));
+
+            assertThat(tickQuoteStore.get(instrumentEURUSD), equalTo(tickQuoteWithVolumes));
+            assertThat(tickQuoteStore.bid(instrumentEURUSD), equalTo(bidEURUSD));
+            assertThat(tickQuoteStore.time(instrumentEURUSD), equalTo(42L));
+        }
+
+        @Test
+        public void quoteWithSameTimeReplacesStoredQuote() {
+            when(tickEURUSD.getTime()).thenReturn(42L);
+
+            assertTrue(tickQuoteStore.put(tickQuoteEURUSD));
+
+            assertThat(tickQuoteStore.get(instrumentEURUSD), equalTo(tickQuoteEURUSD));
+        }
+
+        @Test
+        public void getAllIsCorrect() {
+            final Map<Instrument, TickQuote> tickMap = tickQuoteStore.getAll();
+
+            assertThat(tickMap.size(), equalTo(2));
+            assertThat(tickMap.get(instrumentEURUSD), equalTo(tickQuoteWithVolumes));
+            assertThat(tickMap.get(instrumentAUDUSD), equalTo(tickQuoteAUDUSD));
+        }
+    }
+}
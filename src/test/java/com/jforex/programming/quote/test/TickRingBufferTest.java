@@ -0,0 +1,115 @@
+package com.jforex.programming.quote.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.dukascopy.api.ITick;
+import com.jforex.programming.quote.TickRingBuffer;
+import com.jforex.programming.quote.TickWindow;
+import com.jforex.programming.test.common.QuoteProviderForTest;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+
+@RunWith(HierarchicalContextRunner.class)
+public class TickRingBufferTest extends QuoteProviderForTest {
+
+    private TickRingBuffer tickRingBuffer;
+
+    private static final int capacity = 3;
+
+    @Before
+    public void setUp() {
+        tickRingBuffer = new TickRingBuffer(capacity);
+    }
+
+    private ITick tickAt(final long time) {
+        final ITick tick = mockForITick(time + 0.5, time + 0.7);
+        when(tick.getTime()).thenReturn(time);
+
+        return tick;
+    }
+
+    private void addTicks(final int noOfTicks) {
+        for (int time = 1; time <= noOfTicks; ++time)
+            tickRingBuffer.add(tickAt(time));
+    }
+
+    @Test
+    public void emptyBufferGivesEmptyWindow() {
+        final TickWindow tickWindow = tickRingBuffer.window(2);
+
+        assertThat(tickRingBuffer.size(), equalTo(0));
+        assertTrue(tickWindow.isEmpty());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void accessOutsideWindowThrows() {
+        addTicks(1);
+
+        tickRingBuffer
+            .window(1)
+            .bid(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeWindowLengthThrows() {
+        addTicks(1);
+
+        tickRingBuffer.window(-1);
+    }
+
+    public class WhenNotFull {
+
+        @Before
+        public void setUp() {
+            addTicks(2);
+        }
+
+        @Test
+        public void windowIsLimitedBySize() {
+            final TickWindow tickWindow = tickRingBuffer.window(5);
+
+            assertThat(tickWindow.size(), equalTo(2));
+            assertThat(tickWindow.time(0), equalTo(1L));
+            assertThat(tickWindow.time(1), equalTo(2L));
+        }
+    }
+
+    public class WhenWrappedAround {
+
+        @Before
+        public void setUp() {
+            addTicks(5);
+        }
+
+        @Test
+        public void sizeIsCapacity() {
+            assertThat(tickRingBuffer.size(), equalTo(capacity));
+            assertThat(tickRingBuffer.writeSequence(), equalTo(5L));
+        }
+
+        @Test
+        public void windowHoldsLatestTicksInOrder() {
+            final TickWindow tickWindow = tickRingBuffer.window(capacity);
+
+            assertThat(tickWindow.size(), equalTo(capacity));
+            assertThat(tickWindow.time(0), equalTo(3L));
+            assertThat(tickWindow.time(2), equalTo(5L));
+            assertThat(tickWindow.bid(2), equalTo(5.5));
+            assertThat(tickWindow.ask(2), equalTo(5.7));
+        }
+
+        @Test
+        public void smallerWindowHoldsLatestTicks() {
+            final TickWindow tickWindow = tickRingBuffer.window(2);
+
+            assertThat(tickWindow.time(0), equalTo(4L));
+            assertThat(tickWindow.time(1), equalTo(5L));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.jforex.programming.strategy.test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.dukascopy.api.ITimeDomain;
+import com.dukascopy.api.JFException;
+import com.google.common.collect.Sets;
+import com.jforex.programming.strategy.MarketHoursCalendar;
+import com.jforex.programming.test.common.CommonUtilForTest;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+
+@RunWith(HierarchicalContextRunner.class)
+public class MarketHoursCalendarTest extends CommonUtilForTest {
+
+    private MarketHoursCalendar marketHoursCalendar;
+
+    private static final long hour = TimeUnit.HOURS.toMillis(1L);
+    private static final long day = TimeUnit.DAYS.toMillis(1L);
+    // Monday 2017-01-02 00:00 UTC
+    private static final long monday = 1483315200000L;
+    private static final long fridayClose = monday + 4 * day + 22 * hour;
+    private static final long sundayOpen = monday + 6 * day + 22 * hour;
+
+    private long nanoTime;
+
+    @Before
+    public void setUp() {
+        marketHoursCalendar = new MarketHoursCalendar(dataServiceMock, () -> nanoTime);
+    }
+
+    private ITimeDomain timeDomain(final long start,
+                                   final long end) {
+        final ITimeDomain timeDomain = mock(ITimeDomain.class);
+        when(timeDomain.getStart()).thenReturn(start);
+        when(timeDomain.getEnd()).thenReturn(end);
+        return timeDomain;
+    }
+
+    @Test
+    public void platformIsAskedWhenDomainsCanNotBeLoaded() throws JFException {
+        when(dataServiceMock.getOfflineTimeDomains(anyLong(), anyLong()))
+            .thenThrow(jfException);
+        when(dataServiceMock.isOfflineTime(monday)).thenReturn(true);
+
+        assertTrue(marketHoursCalendar.isOfflineTime(monday));
+    }
+
+    public class WhenDomainsCanNotBeLoaded {
+
+        @Before
+        public void setUp() throws JFException {
+            when(dataServiceMock.getOfflineTimeDomains(anyLong(), anyLong()))
+                .thenThrow(jfException)
+                .thenReturn(Sets.newHashSet(timeDomain(fridayClose, sundayOpen)));
+
+            marketHoursCalendar.isOfflineTime(monday);
+        }
+
+        @Test
+        public void failedLoadIsNotRetriedBeforeRetryTime() throws JFException {
+            nanoTime += TimeUnit.SECONDS.toNanos(59L);
+
+            marketHoursCalendar.isOfflineTime(monday + hour);
+            marketHoursCalendar.isOfflineTime(fridayClose);
+
+            verify(dataServiceMock).getOfflineTimeDomains(anyLong(), anyLong());
+            verify(dataServiceMock).isOfflineTime(fridayClose);
+        }
+
+        @Test
+        public void loadIsRetriedAfterRetryTime() throws JFException {
+            nanoTime += TimeUnit.MINUTES.toNanos(1L);
+
+            assertTrue(marketHoursCalendar.isOfflineTime(fridayClose));
+            assertFalse(marketHoursCalendar.isOfflineTime(monday + hour));
+
+            verify(dataServiceMock, times(2)).getOfflineTimeDomains(monday, monday + 7 * day - 1L);
+            verify(dataServiceMock, never()).isOfflineTime(fridayClose);
+        }
+    }
+
+    public class WithWeekendDomain {
+
+        @Before
+        public void setUp() throws JFException {
+            when(dataServiceMock.getOfflineTimeDomains(anyLong(), anyLong()))
+                .thenReturn(Sets.newHashSet(timeDomain(fridayClose, sundayOpen)));
+        }
+
+        @Test
+        public void weekdayIsOnline() {
+            assertFalse(marketHoursCalendar.isOfflineTime(monday + day));
+            assertFalse(marketHoursCalendar.isOfflineTime(fridayClose - 1L));
+        }
+
+        @Test
+        public void weekendIsOffline() {
+            assertTrue(marketHoursCalendar.isOfflineTime(fridayClose));
+            assertTrue(marketHoursCalendar.isOfflineTime(monday + 5 * day));
+            assertTrue(marketHoursCalendar.isOfflineTime(sundayOpen));
+        }
+
+        @Test
+        public void domainsAreLoadedOncePerWeek() throws JFException {
+            marketHoursCalendar.isOfflineTime(monday);
+            marketHoursCalendar.isOfflineTime(fridayClose);
+            marketHoursCalendar.isOfflineTime(monday + 7 * day - 1L);
+
+            verify(dataServiceMock).getOfflineTimeDomains(monday, monday + 7 * day - 1L);
+            verify(dataServiceMock, never()).isOfflineTime(anyLong());
+        }
+
+        @Test
+        public void domainsAreReloadedForNextWeek() throws JFException {
+            marketHoursCalendar.isOfflineTime(monday);
+            marketHoursCalendar.isOfflineTime(monday + 7 * day);
+
+            verify(dataServiceMock).getOfflineTimeDomains(monday + 7 * day, monday + 14 * day - 1L);
+        }
+    }
+}
@@ -2,13 +2,25 @@ package com.jforex.programming.strategy.test;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.junit.runner.RunWith;
 
+import com.dukascopy.api.ITick;
+import com.dukascopy.api.ITimeDomain;
+import com.dukascopy.api.JFException;
 import com.dukascopy.api.OfferSide;
+import com.dukascopy.api.Period;
 import com.dukascopy.api.feed.IBarFeedListener;
+import com.google.common.collect.Sets;
+import com.jforex.programming.quote.BarParams;
+import com.jforex.programming.quote.BarQuote;
 import com.jforex.programming.strategy.ContextUtil;
 import com.jforex.programming.strategy.QuoteUtil;
 import com.jforex.programming.test.common.QuoteProviderForTest;
 
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import io.reactivex.observers.TestObserver;
+
+@RunWith(HierarchicalContextRunner.class)
 public class QuoteUtilTest extends QuoteProviderForTest {
 
     private QuoteUtil quoteUtil;
@@ -17,7 +29,9 @@ public class QuoteUtilTest extends QuoteProviderForTest {
     public void setUp() {
         final ContextUtil contextUtil = new ContextUtil(contextMock);
 
-        quoteUtil = new QuoteUtil(contextUtil, true);
+        quoteUtil = new QuoteUtil(contextUtil,
+                                  true,
+                                  false);
     }
 
     @Test
@@ -29,4 +43,81 @@ public class QuoteUtilTest extends QuoteProviderForTest {
                                                 eq(OfferSide.ASK),
                                                 any(IBarFeedListener.class));
     }
+
+    public class WithBarAggregation {
+
+        private TestObserver<BarQuote> barObserver;
+        private final BarParams oneMinuteBidParams = BarParams
+            .forInstrument(instrumentEURUSD)
+            .period(Period.ONE_MIN)
+            .offerSide(OfferSide.BID);
+
+        // Monday 2017-01-02 00:00 UTC
+        private static final long monday = 1483315200000L;
+        private static final long minute = 60000L;
+
+        @Before
+        public void setUp() throws JFException {
+            final ITimeDomain offlineDomain = mock(ITimeDomain.class);
+            when(offlineDomain.getStart()).thenReturn(monday);
+            when(offlineDomain.getEnd()).thenReturn(monday + minute / 2);
+            when(dataServiceMock.getOfflineTimeDomains(anyLong(), anyLong()))
+                .thenReturn(Sets.newHashSet(offlineDomain));
+
+            quoteUtil = new QuoteUtil(new ContextUtil(contextMock),
+                                      true,
+                                      true);
+            barObserver = quoteUtil
+                .barQuoteProvider()
+                .observable()
+                .test();
+            quoteUtil.aggregateBars(oneMinuteBidParams);
+        }
+
+        @Test
+        public void initBarsFeedFallsBackToContextForWeeklyPeriod() {
+            quoteUtil.initBarsFeed(BarParams
+                .forInstrument(instrumentEURUSD)
+                .period(Period.WEEKLY)
+                .offerSide(OfferSide.BID));
+
+            verify(contextMock).subscribeToBarsFeed(eq(instrumentEURUSD),
+                                                    eq(Period.WEEKLY),
+                                                    eq(OfferSide.BID),
+                                                    any(IBarFeedListener.class));
+        }
+
+        @Test
+        public void initBarsFeedAggregatesMinuteBars() {
+            quoteUtil.initBarsFeed(oneMinuteBidParams);
+
+            verify(contextMock, never()).subscribeToBarsFeed(any(),
+                                                             any(),
+                                                             any(),
+                                                             any(IBarFeedListener.class));
+        }
+
+        private void sendTick(final long time) {
+            final ITick tick = mockForITick(bidEURUSD, askEURUSD);
+            when(tick.getTime()).thenReturn(time);
+
+            quoteUtil.onTick(instrumentEURUSD, tick);
+        }
+
+        @Test
+        public void aggregatedBarStartingOnlineIsForwarded() {
+            sendTick(monday + minute + 1000L);
+            sendTick(monday + 2 * minute + 1000L);
+
+            barObserver.assertValueCount(1);
+        }
+
+        @Test
+        public void aggregatedBarStartingOfflineIsFiltered() {
+            sendTick(monday + minute / 2 + 1000L);
+            sendTick(monday + minute + 1000L);
+
+            barObserver.assertNoValues();
+        }
+    }
 }
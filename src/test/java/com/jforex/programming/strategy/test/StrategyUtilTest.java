@@ -6,13 +6,17 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import com.dukascopy.api.IMessage;
+import com.dukascopy.api.ITimeDomain;
 import com.dukascopy.api.JFException;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import com.jforex.programming.instrument.InstrumentUtil;
 import com.jforex.programming.position.PositionOrders;
 import com.jforex.programming.quote.BarQuote;
@@ -30,11 +34,21 @@ public class StrategyUtilTest extends QuoteProviderForTest {
 
     private StrategyUtil strategyUtil;
 
+    private final long nextWeekTime = TimeUnit.DAYS.toMillis(8L);
+
     @Before
     public void setUp() {
         strategyUtil = new StrategyUtil(contextMock);
     }
 
+    private void setMarketClosedFrom(final long time) throws JFException {
+        final ITimeDomain offlineDomain = mock(ITimeDomain.class);
+        when(offlineDomain.getStart()).thenReturn(time);
+        when(offlineDomain.getEnd()).thenReturn(Long.MAX_VALUE);
+        when(dataServiceMock.getOfflineTimeDomains(anyLong(), anyLong()))
+            .thenReturn(Sets.newHashSet(offlineDomain));
+    }
+
     @Test
     public void returnedContextIsCorrectInstance() {
         assertThat(strategyUtil.context(), equalTo(contextMock));
@@ -197,8 +211,10 @@ public class StrategyUtilTest extends QuoteProviderForTest {
         }
 
         @Test
-        public void barIsNotPushedWhenMarketIsClosed() {
-            when(dataServiceMock.isOfflineTime(anyLong())).thenReturn(true);
+        public void barIsNotPushedWhenMarketIsClosed() throws JFException {
+            setMarketClosedFrom(nextWeekTime);
+            when(askBarEURUSD.getTime()).thenReturn(nextWeekTime);
+            when(bidBarEURUSD.getTime()).thenReturn(nextWeekTime);
 
             pushBar.run();
 
@@ -247,8 +263,9 @@ public class StrategyUtilTest extends QuoteProviderForTest {
         }
 
         @Test
-        public void tickIsNotPushedWhenMarketIsClosed() {
-            when(dataServiceMock.isOfflineTime(anyLong())).thenReturn(true);
+        public void tickIsNotPushedWhenMarketIsClosed() throws JFException {
+            setMarketClosedFrom(nextWeekTime);
+            when(tickEURUSD.getTime()).thenReturn(nextWeekTime);
 
             strategyUtil.onTick(instrumentEURUSD, tickEURUSD);
 